@@ -0,0 +1,12 @@
+package com.example.bookstore.activity;
+
+import java.util.List;
+
+/**
+ * 파이프라인 writer 스레드에서 꺼낸 이벤트 묶음을 받는 구독자 (메모리 집계용).
+ * 단일 스레드에서 순서대로 호출되며, 예외는 적재에 영향을 주지 않는다.
+ */
+public interface ActivityEventListener {
+
+    void onEvents(List<ActivityEventPipeline.Event> events);
+}
@@ -0,0 +1,216 @@
+package com.example.bookstore.activity;
+
+import com.example.bookstore.common.RingBuffer;
+import com.example.bookstore.common.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * 도서 조회/장바구니/위시리스트 이벤트 비동기 적재 (book_views, cart_events, wishlist_events).
+ * - 요청 경로는 lock-free 링 버퍼에 넣기만 함 (가득 차면 버리고 dropped 카운트, 절대 대기하지 않음)
+ * - 전용 writer 스레드가 버퍼를 비우며 테이블별 multi-row INSERT (batch-size 행 단위)
+ * - 버퍼가 절반 이상 차면 writer 를 즉시 깨움(backpressure), 평소에는 flush-interval 마다 적재
+ * - 종료 시 writer 를 멈추고 남은 이벤트를 모두 적재
+ * - 꺼낸 이벤트는 ActivityEventListener 구독자(트렌딩 등 메모리 집계)에게도 전달
+ *
+ * 이벤트 시각은 기록 시점 값을 그대로 저장하므로 적재 지연이 집계에 영향을 주지 않는다.
+ */
+@Component
+public class ActivityEventPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityEventPipeline.class);
+
+    static final int IP_MAX = 64;
+    static final int USER_AGENT_MAX = 512;
+
+    public enum Kind { book_view, cart, wishlist }
+
+    public record Event(Kind kind, Long userId, Long bookId, String action, Integer quantity,
+                 String ipAddress, String userAgent, Timestamp occurredAt) {}
+
+    public record KindStats(long accepted, long dropped, long written, long failed) {}
+
+    public record Stats(int buffered, int capacity, Map<Kind, KindStats> kinds) {}
+
+    private static final class Counters {
+        final LongAdder accepted = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder written = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ActivityEventListener> listenerProvider;
+    private final RingBuffer<Event> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int wakeThreshold;
+    private final Map<Kind, Counters> counters = new EnumMap<>(Kind.class);
+
+    private volatile boolean running;
+    private Thread writer;
+    private List<ActivityEventListener> listeners = List.of();
+
+    public ActivityEventPipeline(JdbcTemplate jdbcTemplate,
+                                 ObjectProvider<ActivityEventListener> listenerProvider,
+                                 @Value("${app.events.buffer-capacity:65536}") int capacity,
+                                 @Value("${app.events.batch-size:500}") int batchSize,
+                                 @Value("${app.events.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listenerProvider = listenerProvider;
+        this.buffer = new RingBuffer<>(Math.max(2, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.wakeThreshold = buffer.capacity() / 2;
+        for (Kind k : Kind.values()) counters.put(k, new Counters());
+    }
+
+    // ---------------------------
+    // 요청 경로
+    // ---------------------------
+    public void recordBookView(Long userId, Long bookId, String ipAddress, String userAgent) {
+        enqueue(new Event(Kind.book_view, userId, bookId, null, null,
+                truncate(ipAddress, IP_MAX), truncate(userAgent, USER_AGENT_MAX), now()));
+    }
+
+    /** action: add / remove / update (커밋된 경우에만 기록) */
+    public void recordCartAfterCommit(Long userId, Long bookId, String action, Integer quantity) {
+        Timestamp at = now();
+        TransactionCallbacks.afterCommit(() -> enqueue(new Event(Kind.cart, userId, bookId, action, quantity, null, null, at)));
+    }
+
+    /** action: add / remove (커밋된 경우에만 기록) */
+    public void recordWishlistAfterCommit(Long userId, Long bookId, String action) {
+        Timestamp at = now();
+        TransactionCallbacks.afterCommit(() -> enqueue(new Event(Kind.wishlist, userId, bookId, action, null, null, null, at)));
+    }
+
+    private void enqueue(Event e) {
+        Counters c = counters.get(e.kind());
+        if (!buffer.offer(e)) {
+            c.dropped.increment();
+            return;
+        }
+        c.accepted.increment();
+        if (buffer.size() >= wakeThreshold) {
+            Thread w = writer;
+            if (w != null) LockSupport.unpark(w);
+        }
+    }
+
+    public Stats stats() {
+        Map<Kind, KindStats> out = new EnumMap<>(Kind.class);
+        counters.forEach((k, c) -> out.put(k,
+                new KindStats(c.accepted.sum(), c.dropped.sum(), c.written.sum(), c.failed.sum())));
+        return new Stats(buffer.size(), buffer.capacity(), out);
+    }
+
+    // ---------------------------
+    // writer
+    // ---------------------------
+    @PostConstruct
+    void start() {
+        listeners = listenerProvider.orderedStream().toList();
+        running = true;
+        writer = new Thread(this::runWriter, "activity-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread w = writer;
+        if (w != null) {
+            LockSupport.unpark(w);
+            try {
+                w.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int rest = 0;
+        int n;
+        while ((n = drainOnce()) > 0) rest += n;
+        log.info("activity_events_flushed_on_shutdown rows={}", rest);
+    }
+
+    private void runWriter() {
+        while (running) {
+            int n = drainOnce();
+            if (n < batchSize) LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+    }
+
+    /** 최대 batchSize 개를 꺼내 테이블별로 적재. 꺼낸 개수 반환 */
+    int drainOnce() {
+        List<Event> batch = new ArrayList<>(Math.min(batchSize, 1024));
+        int n = buffer.drainTo(batch, batchSize);
+        if (n == 0) return 0;
+
+        for (ActivityEventListener l : listeners) {
+            try {
+                l.onEvents(batch);
+            } catch (Exception ex) {
+                log.warn("activity_event_listener_failed listener={} reason={}", l.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+
+        Map<Kind, List<Event>> byKind = new EnumMap<>(Kind.class);
+        for (Event e : batch) byKind.computeIfAbsent(e.kind(), k -> new ArrayList<>()).add(e);
+        byKind.forEach(this::write);
+        return n;
+    }
+
+    private void write(Kind kind, List<Event> events) {
+        Counters c = counters.get(kind);
+        try {
+            switch (kind) {
+                case book_view -> insert("book_views (user_id, book_id, ip_address, user_agent, occurred_at)", 5, events,
+                        e -> new Object[]{e.userId(), e.bookId(), e.ipAddress(), e.userAgent(), e.occurredAt()});
+                case cart -> insert("cart_events (user_id, book_id, action, quantity, occurred_at)", 5, events,
+                        e -> new Object[]{e.userId(), e.bookId(), e.action(), e.quantity(), e.occurredAt()});
+                case wishlist -> insert("wishlist_events (user_id, book_id, action, occurred_at)", 4, events,
+                        e -> new Object[]{e.userId(), e.bookId(), e.action(), e.occurredAt()});
+            }
+            c.written.add(events.size());
+        } catch (Exception ex) {
+            c.failed.add(events.size());
+            log.warn("activity_events_write_failed kind={} rows={} reason={}", kind, events.size(), ex.getMessage());
+        }
+    }
+
+    private void insert(String target, int columns, List<Event> events, Function<Event, Object[]> values) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        String sql = "insert into " + target + " values " + String.join(", ", Collections.nCopies(events.size(), row));
+
+        Object[] args = new Object[events.size() * columns];
+        int i = 0;
+        for (Event e : events) {
+            for (Object v : values.apply(e)) args[i++] = v;
+        }
+        jdbcTemplate.update(sql, args);
+    }
+
+    private static String truncate(String s, int max) {
+        return s != null && s.length() > max ? s.substring(0, max) : s;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+}
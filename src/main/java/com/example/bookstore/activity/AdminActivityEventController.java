@@ -0,0 +1,27 @@
+package com.example.bookstore.activity;
+
+import com.example.bookstore.common.ApiResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ADMIN: 이벤트 적재 파이프라인 상태 (버퍼 사용량, 종류별 수락/버림/적재/실패 수).
+ */
+@RestController
+@RequestMapping("/api/admin/activity-events")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminActivityEventController {
+
+    private final ActivityEventPipeline pipeline;
+
+    public AdminActivityEventController(ActivityEventPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    // GET /api/admin/activity-events/stats
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<ActivityEventPipeline.Stats>> stats() {
+        return ResponseEntity.ok(ApiResponse.ok("OK", pipeline.stats()));
+    }
+}
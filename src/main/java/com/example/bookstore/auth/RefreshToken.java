@@ -17,8 +17,8 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Lob
-    @Column(name = "token_hash", nullable = false)
+    /** SHA-256 hex (64자, unique 인덱스) */
+    @Column(name = "token_hash", nullable = false, length = 64, unique = true)
     private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
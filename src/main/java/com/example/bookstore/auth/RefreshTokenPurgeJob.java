@@ -0,0 +1,71 @@
+package com.example.bookstore.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 만료/폐기된 refresh token 정리 (token 테이블이 로그인·회전마다 계속 커지는 것 방지).
+ * - PK 순으로 CHUNK 개씩 대상 id 를 찾아 삭제 (청크마다 autocommit → 긴 잠금 없음)
+ * - 폐기된 토큰은 revoked-retention-days 동안 남겨 재사용 시 TOKEN_REVOKED 로 응답
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    static final int CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final int revokedRetentionDays;
+
+    public RefreshTokenPurgeJob(JdbcTemplate jdbcTemplate,
+                                @Value("${app.auth.token-purge.revoked-retention-days:7}") int revokedRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.revokedRetentionDays = Math.max(0, revokedRetentionDays);
+    }
+
+    @Scheduled(cron = "${app.auth.token-purge.cron:0 30 3 * * *}")
+    public void purge() {
+        try {
+            long deleted = purge(Instant.now());
+            if (deleted > 0) log.info("refresh_tokens_purged rows={}", deleted);
+        } catch (Exception e) {
+            log.warn("refresh_tokens_purge_failed reason={}", e.getMessage());
+        }
+    }
+
+    long purge(Instant now) {
+        Timestamp expiredBefore = Timestamp.from(now);
+        Timestamp revokedBefore = Timestamp.from(now.minus(revokedRetentionDays, ChronoUnit.DAYS));
+
+        long deleted = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("""
+                    select id from token
+                     where id > ?
+                       and (expires_at < ? or revoked_at < ?)
+                     order by id
+                     limit ?
+                    """, Long.class, lastId, expiredBefore, revokedBefore, CHUNK);
+            if (ids.isEmpty()) break;
+
+            deleted += namedJdbc.update("delete from token where id in (:ids)", new MapSqlParameterSource("ids", ids));
+            lastId = ids.get(ids.size() - 1);
+        }
+        return deleted;
+    }
+}
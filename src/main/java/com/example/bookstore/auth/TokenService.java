@@ -44,7 +44,7 @@ public class TokenService {
     /** Access JWT + Refresh(plain) 발급, Refresh는 DB에 hash로 저장 */
     @Transactional
     public IssuedTokens issueFor(User user) {
-        String access = jwtProvider.createAccessToken(user.getId(), user.getRole());
+        String access = jwtProvider.createAccessToken(user.getId(), user.getRole(), user.getSellerId());
 
         String refreshPlain = generateRefreshPlain();
         String refreshHash = hashRefresh(refreshPlain);
@@ -3,44 +3,64 @@ package com.example.bookstore.auth.service;
 import com.example.bookstore.auth.dto.*;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.security.PasswordHasher;
 import com.example.bookstore.user.User;
 import com.example.bookstore.user.UserRepository;
 import com.example.bookstore.user.dto.UserDto;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * 회원가입/로그인/토큰 회전.
+ * - BCrypt(수십~수백 ms)는 트랜잭션 밖에서 실행: 짧은 읽기 트랜잭션 → 해시 → 짧은 쓰기 트랜잭션
+ *   (해시하는 동안 DB 커넥션을 잡고 있지 않도록)
+ */
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final TokenService tokenService;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readTx;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, TokenService tokenService,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.tokenService = tokenService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
     }
 
-    @Transactional
     public AuthPayload register(RegisterRequest req) {
-        if (userRepository.existsByEmailAndDeletedAtIsNull(req.email())) {
+        // 중복 이메일이면 해시 전에 거절 (쓰기 트랜잭션에서 다시 확인)
+        if (Boolean.TRUE.equals(readTx.execute(s -> userRepository.existsByEmailAndDeletedAtIsNull(req.email())))) {
             throw new ApiException(ErrorCode.CONFLICT, "요청이 현재 리소스 상태와 충돌합니다.");
         }
+        String encoded = passwordHasher.encode(req.password());
+
+        return tx.execute(s -> {
+            if (userRepository.existsByEmailAndDeletedAtIsNull(req.email())) {
+                throw new ApiException(ErrorCode.CONFLICT, "요청이 현재 리소스 상태와 충돌합니다.");
+            }
 
-        User u = new User();
-        u.setEmail(req.email());
-        u.setPassword(passwordEncoder.encode(req.password()));
-        u.setName(req.name());
-        u.setAddress(req.address());
-        u.setPhone(req.phone());
-        u.setRegion(req.region());
+            User u = new User();
+            u.setEmail(req.email());
+            u.setPassword(encoded);
+            u.setName(req.name());
+            u.setAddress(req.address());
+            u.setPhone(req.phone());
+            u.setRegion(req.region());
 
-        userRepository.save(u);
+            userRepository.save(u);
 
-        TokenService.TokenPair pair = tokenService.issue(u);
-        return new AuthPayload(UserDto.from(u), pair.accessToken(), pair.refreshToken());
+            TokenService.TokenPair pair = tokenService.issue(u);
+            return new AuthPayload(UserDto.from(u), pair.accessToken(), pair.refreshToken());
+        });
     }
 
     @Transactional(readOnly = true)
@@ -49,15 +69,25 @@ public class AuthService {
                 .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "이메일 또는 비밀번호가 올바르지 않습니다."));
     }
 
-    @Transactional
     public AuthPayload login(LoginRequest req) {
-        User u = requireActiveUserByEmail(req.email());
-        if (!passwordEncoder.matches(req.password(), u.getPassword())) {
+        User found = readTx.execute(s -> requireActiveUserByEmail(req.email()));
+        String stored = found.getPassword();
+        if (!passwordHasher.matches(req.password(), stored)) {
             throw new ApiException(ErrorCode.UNAUTHORIZED, "이메일 또는 비밀번호가 올바르지 않습니다.");
         }
 
-        TokenService.TokenPair pair = tokenService.issue(u);
-        return new AuthPayload(UserDto.from(u), pair.accessToken(), pair.refreshToken());
+        // bcrypt cost 가 바뀌었으면 평문을 알고 있는 지금 재해시
+        String upgraded = passwordHasher.upgrade(req.password(), stored);
+
+        return tx.execute(s -> {
+            User u = userRepository.findByIdAndDeletedAtIsNull(found.getId())
+                    .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "이메일 또는 비밀번호가 올바르지 않습니다."));
+            // 해시하는 사이 비밀번호가 바뀌었으면 재해시는 버린다 (dirty checking 으로 저장)
+            if (upgraded != null && stored.equals(u.getPassword())) u.setPassword(upgraded);
+
+            TokenService.TokenPair pair = tokenService.issue(u);
+            return new AuthPayload(UserDto.from(u), pair.accessToken(), pair.refreshToken());
+        });
     }
 
     @Transactional
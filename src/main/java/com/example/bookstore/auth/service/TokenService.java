@@ -16,6 +16,7 @@ import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
+import java.util.HexFormat;
 
 @Service
 public class TokenService {
@@ -35,7 +36,7 @@ public class TokenService {
 
     @Transactional
     public TokenPair issue(User user) {
-        String access = jwtProvider.createAccessToken(user.getId(), user.getRole());
+        String access = jwtProvider.createAccessToken(user.getId(), user.getRole(), user.getSellerId());
         String refreshRaw = generateRefreshToken();
 
         RefreshToken rt = new RefreshToken();
@@ -85,9 +86,7 @@ public class TokenService {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             String salted = jwtProperties.refreshPepper() + ":" + refreshRaw;
             byte[] digest = md.digest(salted.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(digest.length * 2);
-            for (byte b : digest) sb.append(String.format("%02x", b));
-            return sb.toString();
+            return HexFormat.of().formatHex(digest);
         } catch (Exception e) {
             throw new ApiException(ErrorCode.INTERNAL_ERROR, "서버 오류가 발생했습니다.");
         }
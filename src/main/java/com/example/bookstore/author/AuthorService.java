@@ -2,6 +2,7 @@ package com.example.bookstore.author;
 
 import com.example.bookstore.author.dto.AuthorDto;
 import com.example.bookstore.author.dto.AuthorUpsertRequest;
+import com.example.bookstore.book.BookSearchIndex;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
 import org.springframework.stereotype.Service;
@@ -14,9 +15,11 @@ import java.util.List;
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final BookSearchIndex bookSearchIndex;
 
-    public AuthorService(AuthorRepository authorRepository) {
+    public AuthorService(AuthorRepository authorRepository, BookSearchIndex bookSearchIndex) {
         this.authorRepository = authorRepository;
+        this.bookSearchIndex = bookSearchIndex;
     }
 
     @Transactional(readOnly = true)
@@ -37,6 +40,8 @@ public class AuthorService {
         Author a = authorRepository.findById(id)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "저자를 찾을 수 없습니다."));
         a.setName(req.name());
+        // 검색 인덱스: 이 저자의 도서만 재색인
+        bookSearchIndex.renameAuthorAfterCommit(a.getId(), a.getName());
         return new AuthorDto(a.getId(), a.getName());
     }
 
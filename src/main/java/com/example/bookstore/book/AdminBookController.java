@@ -15,9 +15,15 @@ import org.springframework.web.bind.annotation.*;
 public class AdminBookController {
 
     private final BookService bookService;
+    private final RatingStatsReconciler ratingStatsReconciler;
+    private final HotStockEngine hotStockEngine;
 
-    public AdminBookController(BookService bookService) {
+    public AdminBookController(BookService bookService,
+                               RatingStatsReconciler ratingStatsReconciler,
+                               HotStockEngine hotStockEngine) {
         this.bookService = bookService;
+        this.ratingStatsReconciler = ratingStatsReconciler;
+        this.hotStockEngine = hotStockEngine;
     }
 
     /**
@@ -75,4 +81,45 @@ public class AdminBookController {
         bookService.softDeleteAdmin(bookId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * POST /api/admin/books/rating-stats/reconcile  (평점 통계 정합성 복구 시작 - 백그라운드)
+     */
+    @PostMapping("/rating-stats/reconcile")
+    public ResponseEntity<ApiResponse<RatingStatsReconciler.Status>> startReconcile() {
+        return ResponseEntity.accepted().body(ApiResponse.success("정합성 복구를 시작했습니다.", ratingStatsReconciler.start()));
+    }
+
+    /**
+     * GET /api/admin/books/rating-stats/reconcile  (진행 상태 조회)
+     */
+    @GetMapping("/rating-stats/reconcile")
+    public ResponseEntity<ApiResponse<RatingStatsReconciler.Status>> reconcileStatus() {
+        return ResponseEntity.ok(ApiResponse.success("OK", ratingStatsReconciler.status()));
+    }
+
+    /**
+     * GET /api/admin/books/hot-stock  (핫 재고 모드 도서 목록)
+     */
+    @GetMapping("/hot-stock")
+    public ResponseEntity<ApiResponse<Object>> hotStockList() {
+        return ResponseEntity.ok(ApiResponse.success("OK", java.util.Map.of("items", hotStockEngine.list())));
+    }
+
+    /**
+     * POST /api/admin/books/{bookId}/hot-stock  (핫 재고 모드 지정)
+     */
+    @PostMapping("/{bookId}/hot-stock")
+    public ResponseEntity<ApiResponse<HotStockEngine.HotStockStatus>> markHotStock(@PathVariable Long bookId) {
+        return ResponseEntity.ok(ApiResponse.success("핫 재고 모드로 지정되었습니다.", hotStockEngine.mark(bookId)));
+    }
+
+    /**
+     * DELETE /api/admin/books/{bookId}/hot-stock  (해제 - 진행 중인 예약 반영 후 일반 모드로 전환)
+     */
+    @DeleteMapping("/{bookId}/hot-stock")
+    public ResponseEntity<Void> releaseHotStock(@PathVariable Long bookId) {
+        hotStockEngine.release(bookId);
+        return ResponseEntity.noContent().build();
+    }
 }
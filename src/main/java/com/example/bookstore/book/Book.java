@@ -1,12 +1,14 @@
 package com.example.bookstore.book;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate // 변경된 컬럼만 update → 주문 재고 차감(native update)을 엔티티 저장이 덮어쓰지 않도록
 @Table(
         name = "books",
         indexes = {
@@ -32,12 +34,16 @@ public class Book {
     @Column(nullable=false)
     private Integer stock;
 
-    @Column(name="average_rating")
+    // 평점 통계는 리뷰 작성/수정/삭제 시 native update 로만 갱신 (엔티티 저장이 덮어쓰지 않도록 updatable=false)
+    @Column(name="average_rating", updatable=false)
     private Double averageRating;
 
-    @Column(name="ratings_count", nullable=false)
+    @Column(name="ratings_count", nullable=false, updatable=false)
     private Integer ratingsCount = 0;
 
+    @Column(name="ratings_sum", nullable=false, updatable=false)
+    private Long ratingsSum = 0L;
+
     @Column(name="created_at")
     private Instant createdAt;
 
@@ -59,6 +65,7 @@ public class Book {
         if (createdAt == null) createdAt = now;
         if (updatedAt == null) updatedAt = now;
         if (ratingsCount == null) ratingsCount = 0;
+        if (ratingsSum == null) ratingsSum = 0L;
     }
 
     @PreUpdate
@@ -86,6 +93,8 @@ public class Book {
     public Integer getRatingsCount() { return ratingsCount; }
     public void setRatingsCount(Integer ratingsCount) { this.ratingsCount = ratingsCount; }
 
+    public Long getRatingsSum() { return ratingsSum; }
+
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
 
@@ -2,11 +2,15 @@ package com.example.bookstore.book;
 
 import com.example.bookstore.book.dto.BookDetailDto;
 import com.example.bookstore.book.dto.BookSummaryDto;
+import com.example.bookstore.activity.ActivityEventPipeline;
 import com.example.bookstore.common.*;
+import com.example.bookstore.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -16,12 +20,15 @@ import java.util.Map;
 public class BookController {
 
     private final BookService bookService;
+    private final ActivityEventPipeline activityEvents;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, ActivityEventPipeline activityEvents) {
         this.bookService = bookService;
+        this.activityEvents = activityEvents;
     }
 
     // GET /api/books?q=&seller_id=&author_id=&category_id=&page=&limit=&sort=
+    // 커서 모드: cursor= (첫 페이지) → meta.next_cursor 를 다음 요청의 cursor 로 전달
     @GetMapping
     public ResponseEntity<ApiResponse<ItemsPayload<BookSummaryDto>>> list(
             @RequestParam(required = false) String q,
@@ -31,33 +38,53 @@ public class BookController {
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) Integer limit,
-            @RequestParam(required = false) String sort
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor
     ) {
-        PageRequest pageable = pageRequest(page, size, limit, sort);
+        if (KeysetCursor.isCursorMode(cursor)) {
+            int l = limitOf(size, limit);
+            CursorSlice<BookSummaryDto> slice =
+                    bookService.listPublicByCursor(q, sellerId, authorId, categoryId, parseSort(sort), l, cursor);
+            return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(slice.items()), ApiMeta.fromCursor(slice, l)));
+        }
+
+        PageRequest pageable = pageRequest(page, size, limit, sort, q);
         Page<BookSummaryDto> result = bookService.listPublic(q, sellerId, authorId, categoryId, pageable);
         return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(result.getContent()), ApiMeta.fromPage(result)));
     }
 
     // GET /api/books/{bookId}
     @GetMapping("/{bookId}")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> detail(@PathVariable Long bookId) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> detail(
+            @PathVariable Long bookId,
+            @AuthenticationPrincipal UserPrincipal me,
+            HttpServletRequest request
+    ) {
         BookDetailDto dto = bookService.detail(bookId);
+        activityEvents.recordBookView(me == null ? null : me.userId(), bookId,
+                clientIp(request), request.getHeader("User-Agent"));
         return ResponseEntity.ok(ApiResponse.ok("OK", Map.of("book", dto)));
     }
 
     /**
      * sort 예시: sort=price_cents,DESC or sort=updated_at,ASC
      * - 허용 필드: id, price_cents, updated_at, average_rating, ratings_count
+     * - q 검색에서 sort 미지정 시 관련도 순(unsorted)
      */
-    private PageRequest pageRequest(Integer page, Integer size, Integer limit, String sort) {
+    private PageRequest pageRequest(Integer page, Integer size, Integer limit, String sort, String q) {
         int p = (page == null ? 1 : Math.max(page, 1)) - 1;   // 1-base
-        Integer raw = (size != null ? size : limit);
-        int l = (raw == null ? 20 : Math.min(Math.max(raw, 1), 100));
+        int l = limitOf(size, limit);
 
-        Sort s = parseSort(sort);
+        boolean relevance = (sort == null || sort.isBlank()) && q != null && !q.isBlank();
+        Sort s = relevance ? Sort.unsorted() : parseSort(sort);
         return PageRequest.of(p, l, s);
     }
 
+    private int limitOf(Integer size, Integer limit) {
+        Integer raw = (size != null ? size : limit);
+        return (raw == null ? 20 : Math.min(Math.max(raw, 1), 100));
+    }
+
     private Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) {
             return Sort.by(Sort.Direction.DESC, "id");
@@ -92,4 +119,12 @@ public class BookController {
 
         return Sort.by(dir, field);
     }
+
+    private static String clientIp(HttpServletRequest request) {
+        String xff = request.getHeader("X-Forwarded-For");
+        if (xff != null && !xff.isBlank()) {
+            return xff.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
@@ -1,11 +1,14 @@
 package com.example.bookstore.book;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
@@ -34,6 +37,49 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     )
     Optional<BookForCartOrder> getForCartOrder(@Param("id") Long id);
 
+    @Query(
+        value = """
+                select id as id,
+                       seller_id as sellerId,
+                       price_cents as priceCents,
+                       stock as stock
+                  from books
+                 where id in (:ids)
+                   and deleted_at is null
+                """,
+        nativeQuery = true
+    )
+    List<BookForCartOrder> getForCartOrderIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"bookAuthors.author", "bookCategories.category"})
+    Optional<Book> findWithRelationsByIdAndDeletedAtIsNull(Long id);
+
+    // 상세/목록용 저자·카테고리 플랫 프로젝션 (kind: author | category)
+    interface BookRelationRow {
+        Long getBookId();
+        String getKind();
+        Long getId();
+        String getName();
+    }
+
+    /** 여러 도서의 저자/카테고리를 한 번의 쿼리로 (연관 엔티티 lazy 로딩 N+1 방지) */
+    @Query(
+        value = """
+                select ba.book_id as bookId, 'author' as kind, a.id as id, a.name as name
+                  from book_authors ba
+                  join authors a on a.id = ba.author_id
+                 where ba.book_id in (:bookIds)
+                union all
+                select bc.book_id as bookId, 'category' as kind, c.id as id, c.name as name
+                  from book_categories bc
+                  join categories c on c.id = bc.category_id
+                 where bc.book_id in (:bookIds)
+                 order by 1, 2, 3
+                """,
+        nativeQuery = true
+    )
+    List<BookRelationRow> findRelations(@Param("bookIds") Collection<Long> bookIds);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(
         value = """
@@ -45,16 +91,40 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
         nativeQuery = true
     )
     int decreaseStockIfEnough(@Param("id") Long id, @Param("qty") int qty);
-    @org.springframework.data.jpa.repository.Modifying(clearAutomatically = true, flushAutomatically = true)
-    @org.springframework.data.jpa.repository.Query(
+
+    /** 전체 재집계 (recompute 모드 / 정합성 복구용) */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
         value = """
                 update books b
                 set b.ratings_count = (select count(*) from reviews r where r.book_id = :bookId),
+                    b.ratings_sum = (select ifnull(sum(r.rating), 0) from reviews r where r.book_id = :bookId),
                     b.average_rating = (select ifnull(avg(r.rating), 0) from reviews r where r.book_id = :bookId)
                 where b.id = :bookId
                 """,
         nativeQuery = true
     )
-    int refreshRatingStats(@org.springframework.data.repository.query.Param("bookId") Long bookId);
+    int refreshRatingStats(@Param("bookId") Long bookId);
+
+    /**
+     * 증분 갱신: count/sum 에 delta 를 더하고 평균은 같은 문장에서 계산 (O(1)).
+     * average_rating 을 먼저 계산해야 MySQL(좌→우 평가)/H2 모두 갱신 전 값을 사용한다.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
+        value = """
+                update books
+                   set average_rating = case when ratings_count + :countDelta > 0
+                                             then (ratings_sum + :sumDelta) * 1.0 / (ratings_count + :countDelta)
+                                             else 0 end,
+                       ratings_count = ratings_count + :countDelta,
+                       ratings_sum = ratings_sum + :sumDelta
+                 where id = :bookId
+                """,
+        nativeQuery = true
+    )
+    int applyRatingDelta(@Param("bookId") Long bookId,
+                         @Param("countDelta") int countDelta,
+                         @Param("sumDelta") long sumDelta);
 
 }
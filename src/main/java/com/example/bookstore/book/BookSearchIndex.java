@@ -0,0 +1,212 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.common.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서 제목/저자명 인메모리 역색인.
+ * - term -> (bookId -> 필드 가중치) posting 으로 보관
+ * - q 검색은 매칭 posting 만 훑어서 랭킹된 bookId 목록을 돌려준다 (LIKE 풀스캔 대체)
+ * - BookService/AuthorService 변경 시 커밋 이후에 동기화
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 2;
+    static final int AUTHOR_WEIGHT = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<Long, String> authorNames = new HashMap<>();
+    private volatile boolean ready = false;
+
+    private record Doc(String title, Set<Long> authorIds, Map<String, Integer> terms) {}
+
+    public BookSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** 기동 시 전체 색인 (실패하면 LIKE 검색으로 폴백) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            Map<Long, String> titles = new LinkedHashMap<>();
+            jdbcTemplate.query("select id, title from books where deleted_at is null",
+                    rs -> { titles.put(rs.getLong("id"), rs.getString("title")); });
+
+            Map<Long, String> authors = new HashMap<>();
+            jdbcTemplate.query("select id, name from authors",
+                    rs -> { authors.put(rs.getLong("id"), rs.getString("name")); });
+
+            Map<Long, Set<Long>> bookAuthors = new HashMap<>();
+            jdbcTemplate.query("select book_id, author_id from book_authors",
+                    rs -> {
+                        bookAuthors.computeIfAbsent(rs.getLong("book_id"), k -> new LinkedHashSet<>())
+                                .add(rs.getLong("author_id"));
+                    });
+
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                docs.clear();
+                authorNames.clear();
+                authorNames.putAll(authors);
+                titles.forEach((id, title) -> putDoc(id, title, bookAuthors.getOrDefault(id, Set.of())));
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("book_search_index_built books={} terms={}", titles.size(), postings.size());
+        } catch (Exception e) {
+            ready = false;
+            log.warn("book_search_index_build_failed (fallback to LIKE) reason={}", e.getMessage());
+        }
+    }
+
+    /** 도서 색인 추가/교체 (authors: authorId -> name) */
+    public void upsert(Long bookId, String title, Map<Long, String> authors) {
+        lock.writeLock().lock();
+        try {
+            authorNames.putAll(authors);
+            removeDoc(bookId);
+            putDoc(bookId, title, authors.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 저자명 변경 시 해당 저자의 도서만 재색인 */
+    public void renameAuthor(Long authorId, String name) {
+        lock.writeLock().lock();
+        try {
+            authorNames.put(authorId, name);
+            List<Long> affected = docs.entrySet().stream()
+                    .filter(e -> e.getValue().authorIds().contains(authorId))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            for (Long bookId : affected) {
+                Doc d = docs.get(bookId);
+                removeDoc(bookId);
+                putDoc(bookId, d.title(), d.authorIds());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAfterCommit(Long bookId, String title, Map<Long, String> authors) {
+        TransactionCallbacks.afterCommit(() -> upsert(bookId, title, authors));
+    }
+
+    public void removeAfterCommit(Long bookId) {
+        TransactionCallbacks.afterCommit(() -> remove(bookId));
+    }
+
+    public void renameAuthorAfterCommit(Long authorId, String name) {
+        TransactionCallbacks.afterCommit(() -> renameAuthor(authorId, name));
+    }
+
+    /**
+     * q의 모든 term을 포함하는 도서 id를 점수(제목 > 저자) 내림차순, id 내림차순으로 반환.
+     */
+    public List<Long> search(String q, int maxResults) {
+        List<BookSearchTokenizer.QueryTerm> terms = BookSearchTokenizer.queryTerms(q);
+        if (terms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (BookSearchTokenizer.QueryTerm qt : terms) {
+                Map<Long, Integer> hits = lookup(qt);
+                if (hits.isEmpty()) return List.of();
+
+                if (scores == null) {
+                    scores = new HashMap<>(hits);
+                } else {
+                    Map<Long, Integer> next = new HashMap<>();
+                    for (Map.Entry<Long, Integer> e : scores.entrySet()) {
+                        Integer w = hits.get(e.getKey());
+                        if (w != null) next.put(e.getKey(), e.getValue() + w);
+                    }
+                    if (next.isEmpty()) return List.of();
+                    scores = next;
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()))
+                    .limit(maxResults)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------
+    // internal (write lock 보유 상태에서 호출)
+    // ---------------------------
+    private void putDoc(Long bookId, String title, Set<Long> authorIds) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String t : BookSearchTokenizer.indexTerms(title)) {
+            terms.merge(t, TITLE_WEIGHT, Math::max);
+        }
+        for (Long authorId : authorIds) {
+            for (String t : BookSearchTokenizer.indexTerms(authorNames.get(authorId))) {
+                terms.merge(t, AUTHOR_WEIGHT, Math::max);
+            }
+        }
+
+        terms.forEach((t, w) -> postings.computeIfAbsent(t, k -> new HashMap<>()).put(bookId, w));
+        docs.put(bookId, new Doc(title, new LinkedHashSet<>(authorIds), terms));
+    }
+
+    private void removeDoc(Long bookId) {
+        Doc old = docs.remove(bookId);
+        if (old == null) return;
+        for (String t : old.terms().keySet()) {
+            Map<Long, Integer> p = postings.get(t);
+            if (p == null) continue;
+            p.remove(bookId);
+            if (p.isEmpty()) postings.remove(t);
+        }
+    }
+
+    private Map<Long, Integer> lookup(BookSearchTokenizer.QueryTerm qt) {
+        if (!qt.prefix()) {
+            return postings.getOrDefault(qt.term(), Map.of());
+        }
+        Map<Long, Integer> merged = new HashMap<>();
+        for (Map<Long, Integer> p : postings.subMap(qt.term(), true, qt.term() + Character.MAX_VALUE, false).values()) {
+            p.forEach((id, w) -> merged.merge(id, w, Math::max));
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.bookstore.book;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 도서 검색용 토크나이저.
+ * - 영문/숫자: 단어 단위(소문자)
+ * - 한글: 2-gram(+ 색인 시 1-gram) → 띄어쓰기 없이도 부분 일치 검색 가능
+ */
+public final class BookSearchTokenizer {
+
+    private BookSearchTokenizer() {}
+
+    /** 색인용 term: 한글은 1-gram + 2-gram, 그 외는 단어 */
+    public static Set<String> indexTerms(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        for (Run run : runs(text)) {
+            if (run.hangul()) {
+                String s = run.text();
+                for (int i = 0; i < s.length(); i++) {
+                    out.add(s.substring(i, i + 1));
+                    if (i + 1 < s.length()) out.add(s.substring(i, i + 2));
+                }
+            } else {
+                out.add(run.text());
+            }
+        }
+        return out;
+    }
+
+    /** 질의용 term: 한글은 2-gram(1글자면 1-gram), 그 외는 단어(접두어 매칭 대상) */
+    public static List<QueryTerm> queryTerms(String text) {
+        Set<QueryTerm> out = new LinkedHashSet<>();
+        for (Run run : runs(text)) {
+            String s = run.text();
+            if (run.hangul()) {
+                if (s.length() == 1) {
+                    out.add(new QueryTerm(s, false));
+                } else {
+                    for (int i = 0; i + 1 < s.length(); i++) {
+                        out.add(new QueryTerm(s.substring(i, i + 2), false));
+                    }
+                }
+            } else {
+                out.add(new QueryTerm(s, true));
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    /** prefix=true 이면 해당 term으로 시작하는 모든 색인 term과 매칭 */
+    public record QueryTerm(String term, boolean prefix) {}
+
+    private record Run(String text, boolean hangul) {}
+
+    private static List<Run> runs(String text) {
+        List<Run> runs = new ArrayList<>();
+        if (text == null || text.isBlank()) return runs;
+
+        String s = text.toLowerCase(Locale.ROOT);
+        StringBuilder cur = new StringBuilder();
+        boolean curHangul = false;
+
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            boolean hangul = isHangulSyllable(ch);
+            boolean word = hangul || Character.isLetterOrDigit(ch);
+
+            if (!word || (cur.length() > 0 && hangul != curHangul)) {
+                if (cur.length() > 0) runs.add(new Run(cur.toString(), curHangul));
+                cur.setLength(0);
+            }
+            if (word) {
+                cur.append(ch);
+                curHangul = hangul;
+            }
+        }
+        if (cur.length() > 0) runs.add(new Run(cur.toString(), curHangul));
+        return runs;
+    }
+
+    private static boolean isHangulSyllable(char ch) {
+        return ch >= '가' && ch <= '힣';
+    }
+}
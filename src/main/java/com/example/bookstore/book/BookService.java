@@ -6,13 +6,18 @@ import com.example.bookstore.book.dto.*;
 import com.example.bookstore.category.Category;
 import com.example.bookstore.category.CategoryRepository;
 import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.CappedPage;
+import com.example.bookstore.common.CursorSlice;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.common.KeysetCursor;
+import com.example.bookstore.security.SellerIdentity;
+import com.example.bookstore.security.UserPrincipal;
 import com.example.bookstore.sellers.SellerRepository;
-import com.example.bookstore.user.User;
-import com.example.bookstore.user.UserRepository;
-import com.example.bookstore.user.UserRole;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,39 +29,200 @@ import java.util.stream.Collectors;
 @Service
 public class BookService {
 
+    /** 검색 후보 id 를 IN 절 하나에 넣는 최대 개수 (관련도 순 페이지는 이 단위로 나눠 필터/카운트) */
+    static final int SEARCH_ID_CHUNK = 1000;
+
+    /** DB 정렬/커서 모드에서 정렬 대상으로 삼는 관련도 상위 후보 수 (넘으면 meta.search_capped=true) */
+    static final int MAX_SEARCH_CANDIDATES = 1000;
+
+    /**
+     * 커서 모드에서 허용하는 정렬 필드 (NOT NULL 컬럼만).
+     * updated_at 은 nullable 이라 >/< seek 에서 NULL 행이 빠지므로 제외 (offset 모드에서만 정렬 가능)
+     */
+    private static final Set<String> SEEKABLE_FIELDS = Set.of("id", "priceCents", "ratingsCount");
+
     private final BookRepository bookRepository;
     private final SellerRepository sellerRepository;
     private final AuthorRepository authorRepository;
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final SellerIdentity sellerIdentity;
+    private final BookSearchIndex searchIndex;
+    private final HotStockEngine hotStockEngine;
 
     public BookService(
             BookRepository bookRepository,
             SellerRepository sellerRepository,
             AuthorRepository authorRepository,
             CategoryRepository categoryRepository,
-            UserRepository userRepository
+            SellerIdentity sellerIdentity,
+            BookSearchIndex searchIndex,
+            HotStockEngine hotStockEngine
     ) {
         this.bookRepository = bookRepository;
         this.sellerRepository = sellerRepository;
         this.authorRepository = authorRepository;
         this.categoryRepository = categoryRepository;
-        this.userRepository = userRepository;
+        this.sellerIdentity = sellerIdentity;
+        this.searchIndex = searchIndex;
+        this.hotStockEngine = hotStockEngine;
     }
 
     // ---------------------------
     // Public
     // ---------------------------
+    /**
+     * q 검색은 인메모리 역색인으로 후보 id를 구한 뒤 한 번의 쿼리로 로딩한다.
+     * - 정렬 미지정(unsorted)이면 관련도 순: 전체 후보를 SEARCH_ID_CHUNK 단위로 훑어 total 도 정확
+     * - 정렬 지정 시 관련도 상위 MAX_SEARCH_CANDIDATES 건 안에서 DB 정렬 (잘리면 CappedPage 로 표시)
+     * - 인덱스가 준비되지 않았으면 LIKE 검색으로 폴백
+     */
     @Transactional(readOnly = true)
     public Page<BookSummaryDto> listPublic(String q, Long sellerId, Long authorId, Long categoryId, Pageable pageable) {
+        boolean indexed = q != null && !q.isBlank() && searchIndex.isReady();
+        List<Long> ranked = indexed ? searchIndex.search(q, Integer.MAX_VALUE) : null;
+        if (ranked != null && ranked.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Specification<Book> filters = BookSpecs.notDeleted()
+                .and(BookSpecs.hasSeller(sellerId))
+                .and(BookSpecs.hasAuthor(authorId))
+                .and(BookSpecs.hasCategory(categoryId));
+
+        if (indexed && pageable.getSort().isUnsorted()) {
+            boolean filtered = sellerId != null || authorId != null || categoryId != null;
+            return rankedPage(ranked, filters, filtered, pageable);
+        }
+
+        boolean capped = indexed && ranked.size() > MAX_SEARCH_CANDIDATES;
+        List<Long> candidates = capped ? ranked.subList(0, MAX_SEARCH_CANDIDATES) : ranked;
+
+        Specification<Book> spec = filters.and(indexed ? BookSpecs.idIn(candidates) : BookSpecs.matchesQ(q));
+        Page<BookSummaryDto> page = bookRepository.findAll(spec, pageable).map(this::toSummary);
+        return capped ? new CappedPage<>(page.getContent(), pageable, page.getTotalElements()) : page;
+    }
+
+    /**
+     * 커서(키셋) 모드: (정렬키, id) 기준 seek, count 쿼리 없음.
+     * - q 검색 시에도 관련도 정렬은 지원하지 않고 지정 정렬(기본 id DESC)을 따른다.
+     * - q 검색 후보는 관련도 상위 MAX_SEARCH_CANDIDATES 건으로 제한 (잘리면 capped=true)
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<BookSummaryDto> listPublicByCursor(String q, Long sellerId, Long authorId, Long categoryId,
+                                                          Sort sort, int limit, String cursor) {
+        Sort.Order order = sort.isSorted() ? sort.iterator().next() : Sort.Order.desc("id");
+        String field = order.getProperty();
+        if (!SEEKABLE_FIELDS.contains(field)) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "cursor 모드에서 지원하지 않는 정렬 필드입니다.",
+                    Map.of("sort", "allowed=id,price_cents,ratings_count"));
+        }
+        String sortKey = field + "," + order.getDirection().name();
+
         Specification<Book> spec = BookSpecs.notDeleted()
-                .and(BookSpecs.matchesQ(q))
                 .and(BookSpecs.hasSeller(sellerId))
                 .and(BookSpecs.hasAuthor(authorId))
                 .and(BookSpecs.hasCategory(categoryId));
 
-        return bookRepository.findAll(spec, pageable)
-                .map(b -> new BookSummaryDto(b.getId(), b.getTitle(), b.getPriceCents()));
+        boolean capped = false;
+        if (q != null && !q.isBlank()) {
+            if (searchIndex.isReady()) {
+                List<Long> ranked = searchIndex.search(q, MAX_SEARCH_CANDIDATES + 1);
+                if (ranked.isEmpty()) return new CursorSlice<>(List.of(), false, null, false);
+                capped = ranked.size() > MAX_SEARCH_CANDIDATES;
+                spec = spec.and(BookSpecs.idIn(capped ? ranked.subList(0, MAX_SEARCH_CANDIDATES) : ranked));
+            } else {
+                spec = spec.and(BookSpecs.matchesQ(q));
+            }
+        }
+
+        if (!KeysetCursor.isFirstPage(cursor)) {
+            KeysetCursor c = KeysetCursor.decode(cursor, sortKey);
+            spec = spec.and(BookSpecs.seekAfter(field, order.isAscending(), parseSeekValue(field, c.value()), c.id()));
+        }
+
+        Sort seekSort = field.equals("id")
+                ? Sort.by(order.getDirection(), "id")
+                : Sort.by(order.getDirection(), field).and(Sort.by(order.getDirection(), "id"));
+
+        List<Book> rows = bookRepository.findBy(spec, fq -> fq.sortBy(seekSort).limit(limit + 1).all());
+        return CursorSlice.of(rows, limit,
+                b -> new KeysetCursor(sortKey, seekValue(field, b), b.getId()).encode(),
+                this::toSummary).withCapped(capped);
+    }
+
+    private static String seekValue(String field, Book b) {
+        return switch (field) {
+            case "priceCents" -> String.valueOf(b.getPriceCents());
+            case "ratingsCount" -> String.valueOf(b.getRatingsCount());
+            default -> String.valueOf(b.getId());
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parseSeekValue(String field, String raw) {
+        try {
+            return switch (field) {
+                case "priceCents", "ratingsCount" -> Integer.valueOf(raw);
+                default -> Long.valueOf(raw);
+            };
+        } catch (Exception e) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "cursor 형식이 올바르지 않습니다.",
+                    Map.of("cursor", "invalid"));
+        }
+    }
+
+    private Page<BookSummaryDto> rankedPage(List<Long> ranked, Specification<Book> filters,
+                                            boolean filtered, Pageable pageable) {
+        if (!filtered) {
+            // 필터가 없으면 후보 수가 곧 total, 현재 페이지 구간의 id만 로딩
+            return new PageImpl<>(loadInRankOrder(slice(ranked, pageable), filters), pageable, ranked.size());
+        }
+
+        // 필터가 있으면 후보를 청크 단위로 훑는다: 페이지 앞/뒤 청크는 count 만, 페이지에 걸친 청크만 로딩
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        long total = 0;
+        List<BookSummaryDto> items = new ArrayList<>(size);
+
+        for (int i = 0; i < ranked.size(); i += SEARCH_ID_CHUNK) {
+            List<Long> chunk = ranked.subList(i, Math.min(i + SEARCH_ID_CHUNK, ranked.size()));
+            Specification<Book> spec = filters.and(BookSpecs.idIn(chunk));
+
+            long chunkCount = bookRepository.count(spec);
+            if (items.size() < size && total + chunkCount > offset) {
+                List<BookSummaryDto> matched = loadInRankOrder(chunk, filters);
+                int skip = (int) Math.max(0, offset - total);
+                for (int k = skip; k < matched.size() && items.size() < size; k++) {
+                    items.add(matched.get(k));
+                }
+            }
+            total += chunkCount;
+        }
+        return new PageImpl<>(items, pageable, total);
+    }
+
+    /** ids 중 필터를 통과한 도서를 ids 순서(관련도 순)대로 */
+    private List<BookSummaryDto> loadInRankOrder(List<Long> ids, Specification<Book> filters) {
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Book> byId = bookRepository.findAll(filters.and(BookSpecs.idIn(ids))).stream()
+                .collect(Collectors.toMap(Book::getId, b -> b, (a, b) -> a));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toSummary)
+                .toList();
+    }
+
+    private static List<Long> slice(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return ids.subList(from, to);
+    }
+
+    private BookSummaryDto toSummary(Book b) {
+        return new BookSummaryDto(b.getId(), b.getTitle(), b.getPriceCents());
     }
 
     @Transactional(readOnly = true)
@@ -65,6 +231,19 @@ public class BookService {
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다."));
     }
 
+    /** 수정 경로용: 저자/카테고리까지 한 번에 로딩 (교체·재색인·응답 변환에서 lazy 로딩 없음) */
+    private Book requireActiveWithRelations(Long bookId) {
+        return bookRepository.findWithRelationsByIdAndDeletedAtIsNull(bookId)
+                .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다."));
+    }
+
+    /** 핫 재고 모드에서는 재고 기준값이 메모리에 있으므로 직접 수정 불가 (해제 후 수정) */
+    private void requireNotHotStock(Long bookId) {
+        if (hotStockEngine.isHot(bookId)) {
+            throw new ApiException(ErrorCode.CONFLICT, "핫 재고 모드인 도서는 재고를 수정할 수 없습니다. 해제 후 다시 시도하세요.");
+        }
+    }
+
     @Transactional(readOnly = true)
     public BookDetailDto detail(Long bookId) {
         return toDetail(requireActive(bookId));
@@ -91,21 +270,28 @@ public class BookService {
         replaceAuthorsRequired(b, req.author_ids());
         replaceCategoriesRequired(b, req.category_ids());
 
-        return bookRepository.save(b);
+        Book saved = bookRepository.save(b);
+        reindex(saved);
+        return saved;
     }
 
     @Transactional
     public Book patchAdmin(Long bookId, BookPatchRequest req) {
-        Book b = requireActive(bookId);
+        Book b = requireActiveWithRelations(bookId);
 
         if (req.title() != null) b.setTitle(req.title());
         if (req.price_cents() != null) b.setPriceCents(req.price_cents());
-        if (req.stock() != null) b.setStock(req.stock());
+        if (req.stock() != null) {
+            requireNotHotStock(bookId);
+            b.setStock(req.stock());
+        }
 
         if (req.author_ids() != null) replaceAuthorsRequired(b, req.author_ids());
         if (req.category_ids() != null) replaceCategoriesRequired(b, req.category_ids());
 
-        return bookRepository.save(b);
+        Book saved = bookRepository.save(b);
+        reindex(saved);
+        return saved;
     }
 
     @Transactional
@@ -113,6 +299,8 @@ public class BookService {
         Book b = requireActive(bookId);
         b.setDeletedAt(Instant.now());
         bookRepository.save(b);
+        searchIndex.removeAfterCommit(b.getId());
+        hotStockEngine.release(b.getId());
     }
 
     // ---------------------------
@@ -123,33 +311,22 @@ public class BookService {
      * 판매자 본인 도서 목록 (공개 목록 로직을 재사용하되, sellerId를 강제)
      */
     @Transactional(readOnly = true)
-    public Page<BookSummaryDto> listForSeller(Long sellerUserId, String q, Pageable pageable) {
-        User me = userRepository.findByIdAndDeletedAtIsNull(sellerUserId)
-                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
-
-        if (me.getRole() != UserRole.seller || me.getSellerId() == null) {
-            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
-        }
-
-        return listPublic(q, me.getSellerId(), null, null, pageable);
+    public Page<BookSummaryDto> listForSeller(UserPrincipal me, String q, Pageable pageable) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
+        return listPublic(q, sellerId, null, null, pageable);
     }
     @Transactional
-    public Book createForSeller(Long sellerUserId, SellerBookCreateRequest req) {
-        User me = userRepository.findByIdAndDeletedAtIsNull(sellerUserId)
-                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
-
-        if (me.getRole() != UserRole.seller) {
-            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
-        }
-        if (me.getSellerId() == null) {
+    public Book createForSeller(UserPrincipal me, SellerBookCreateRequest req) {
+        Long sellerId = sellerIdentity.sellerIdOf(me);
+        if (sellerId == null) {
             throw new ApiException(ErrorCode.CONFLICT, "판매자 계정에 seller_id가 연결되어 있지 않습니다.");
         }
 
-        sellerRepository.findByIdAndDeletedAtIsNull(me.getSellerId())
+        sellerRepository.findByIdAndDeletedAtIsNull(sellerId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "판매자를 찾을 수 없습니다."));
 
         Book b = new Book();
-        b.setSellerId(me.getSellerId());
+        b.setSellerId(sellerId);
         b.setTitle(req.title());
         b.setPriceCents(req.price_cents());
         b.setStock(req.stock());
@@ -162,67 +339,109 @@ public class BookService {
         replaceAuthorsOptional(b, req.author_ids());
         replaceCategoriesOptional(b, req.category_ids());
 
-        return bookRepository.save(b);
+        Book saved = bookRepository.save(b);
+        reindex(saved);
+        return saved;
     }
 
     @Transactional
-    public Book patchForSeller(Long sellerUserId, Long bookId, BookPatchRequest req) {
-        User me = userRepository.findByIdAndDeletedAtIsNull(sellerUserId)
-                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
+    public Book patchForSeller(UserPrincipal me, Long bookId, BookPatchRequest req) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
 
-        if (me.getRole() != UserRole.seller || me.getSellerId() == null) {
-            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
-        }
-
-        Book b = requireActive(bookId);
-        if (!Objects.equals(b.getSellerId(), me.getSellerId())) {
+        Book b = requireActiveWithRelations(bookId);
+        if (!Objects.equals(b.getSellerId(), sellerId)) {
             throw new ApiException(ErrorCode.FORBIDDEN, "본인 판매자의 도서만 수정할 수 있습니다.");
         }
 
         if (req.title() != null) b.setTitle(req.title());
         if (req.price_cents() != null) b.setPriceCents(req.price_cents());
-        if (req.stock() != null) b.setStock(req.stock());
+        if (req.stock() != null) {
+            requireNotHotStock(bookId);
+            b.setStock(req.stock());
+        }
 
         // 선택: null이면 무시, []면 전부 제거
         if (req.author_ids() != null) replaceAuthorsAllowEmpty(b, req.author_ids());
         if (req.category_ids() != null) replaceCategoriesAllowEmpty(b, req.category_ids());
 
-        return bookRepository.save(b);
+        Book saved = bookRepository.save(b);
+        reindex(saved);
+        return saved;
     }
 
     @Transactional
-    public void softDeleteForSeller(Long sellerUserId, Long bookId) {
-        User me = userRepository.findByIdAndDeletedAtIsNull(sellerUserId)
-                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
-
-        if (me.getRole() != UserRole.seller || me.getSellerId() == null) {
-            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
-        }
+    public void softDeleteForSeller(UserPrincipal me, Long bookId) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
 
         Book b = requireActive(bookId);
-        if (!Objects.equals(b.getSellerId(), me.getSellerId())) {
+        if (!Objects.equals(b.getSellerId(), sellerId)) {
             throw new ApiException(ErrorCode.FORBIDDEN, "본인 판매자의 도서만 삭제할 수 있습니다.");
         }
 
         b.setDeletedAt(Instant.now());
         bookRepository.save(b);
+        searchIndex.removeAfterCommit(b.getId());
+        hotStockEngine.release(b.getId());
     }
 
     // ---------------------------
     // Mapping
     // ---------------------------
+    /** 도서 한 권의 저자/카테고리 */
+    public record Relations(List<NamedIdDto> authors, List<NamedIdDto> categories) {
+        static final Relations EMPTY = new Relations(List.of(), List.of());
+    }
+
+    /**
+     * 저자/카테고리가 이미 로딩된 엔티티(생성 직후, 엔티티 그래프로 읽은 수정 경로)는 메모리에서 바로 만들고,
+     * 아니면 lazy 컬렉션을 따라가지 않고 플랫 프로젝션 한 번으로 읽는다.
+     * (상세 = 도서 1 + 관계 1 쿼리, 분리된(detached) 엔티티도 그대로 사용 가능)
+     */
     @Transactional(readOnly = true)
     public BookDetailDto toDetail(Book b) {
+        Relations rel = Hibernate.isInitialized(b.getBookAuthors()) && Hibernate.isInitialized(b.getBookCategories())
+                ? loadedRelations(b)
+                : relationsOf(List.of(b.getId())).getOrDefault(b.getId(), Relations.EMPTY);
+        return toDetail(b, rel);
+    }
+
+    /** 목록에서 저자/카테고리가 필요할 때: 도서 수와 무관하게 쿼리 1번 */
+    @Transactional(readOnly = true)
+    public Map<Long, Relations> relationsOf(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) return Map.of();
+
+        Map<Long, List<NamedIdDto>> authors = new HashMap<>();
+        Map<Long, List<NamedIdDto>> categories = new HashMap<>();
+        for (BookRepository.BookRelationRow r : bookRepository.findRelations(bookIds)) {
+            Map<Long, List<NamedIdDto>> target = "author".equals(r.getKind()) ? authors : categories;
+            target.computeIfAbsent(r.getBookId(), k -> new ArrayList<>()).add(new NamedIdDto(r.getId(), r.getName()));
+        }
+
+        Map<Long, Relations> out = new HashMap<>();
+        for (Long id : bookIds) {
+            out.put(id, new Relations(
+                    authors.getOrDefault(id, List.of()).stream().distinct().toList(),
+                    categories.getOrDefault(id, List.of()).stream().distinct().toList()));
+        }
+        return out;
+    }
+
+    private static Relations loadedRelations(Book b) {
+        Comparator<NamedIdDto> byId = Comparator.comparing(NamedIdDto::id);
         List<NamedIdDto> authors = b.getBookAuthors().stream()
                 .map(ba -> new NamedIdDto(ba.getAuthor().getId(), ba.getAuthor().getName()))
                 .distinct()
+                .sorted(byId)
                 .toList();
-
         List<NamedIdDto> categories = b.getBookCategories().stream()
                 .map(bc -> new NamedIdDto(bc.getCategory().getId(), bc.getCategory().getName()))
                 .distinct()
+                .sorted(byId)
                 .toList();
+        return new Relations(authors, categories);
+    }
 
+    private static BookDetailDto toDetail(Book b, Relations rel) {
         return new BookDetailDto(
                 b.getId(),
                 b.getSellerId(),
@@ -231,8 +450,8 @@ public class BookService {
                 b.getStock(),
                 b.getAverageRating(),
                 b.getRatingsCount(),
-                authors,
-                categories,
+                rel.authors(),
+                rel.categories(),
                 b.getUpdatedAt()
         );
     }
@@ -240,6 +459,16 @@ public class BookService {
     // ---------------------------
     // Relation helpers
     // ---------------------------
+
+    /** 검색 인덱스 동기화(커밋 이후 반영) */
+    private void reindex(Book b) {
+        Map<Long, String> authors = new LinkedHashMap<>();
+        for (BookAuthor ba : b.getBookAuthors()) {
+            authors.put(ba.getAuthor().getId(), ba.getAuthor().getName());
+        }
+        searchIndex.upsertAfterCommit(b.getId(), b.getTitle(), authors);
+    }
+
     private void replaceAuthorsRequired(Book b, List<Long> authorIds) {
         if (authorIds == null || authorIds.isEmpty()) {
             throw new ApiException(ErrorCode.VALIDATION_FAILED, "author_ids는 1개 이상이어야 합니다.",
@@ -1,10 +1,13 @@
 package com.example.bookstore.book;
 
 import com.example.bookstore.author.Author;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public final class BookSpecs {
 
     private BookSpecs() {}
@@ -18,7 +21,29 @@ public final class BookSpecs {
         return (root, query, cb) -> cb.equal(root.get("sellerId"), sellerId);
     }
 
-    /** q: 제목/저자명 검색 (LIKE) */
+    /** 검색 인덱스가 돌려준 후보 id 로 제한 */
+    public static Specification<Book> idIn(Collection<Long> ids) {
+        if (ids == null) return null;
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * 키셋 페이지네이션: (field, id) 기준으로 커서 이후 행만.
+     * - 정렬은 (field dir, id dir) 이어야 한다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Book> seekAfter(String field, boolean ascending, Comparable value, Long id) {
+        return (root, query, cb) -> {
+            Expression<Comparable> f = root.get(field);
+            Expression<Long> idPath = root.get("id");
+            if (ascending) {
+                return cb.or(cb.greaterThan(f, value), cb.and(cb.equal(f, value), cb.greaterThan(idPath, id)));
+            }
+            return cb.or(cb.lessThan(f, value), cb.and(cb.equal(f, value), cb.lessThan(idPath, id)));
+        };
+    }
+
+    /** q: 제목/저자명 검색 (LIKE) - 검색 인덱스가 준비되지 않았을 때의 폴백 */
     public static Specification<Book> matchesQ(String q) {
         if (q == null || q.isBlank()) return null;
         String like = "%" + q.trim().toLowerCase() + "%";
@@ -0,0 +1,318 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.common.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 플래시 세일용 핫 재고 예약 엔진 (단일 인스턴스 전제, 선택 기능).
+ * - 핫 도서는 메모리 카운터(available)로 재고를 차감 → books 행 잠금 없이 초과 판매 거절
+ * - 차감분은 주문과 같은 트랜잭션에서 stock_reservation_journal 에 기록(내구성)
+ * - 주기적으로 저널을 모아 books.stock 에 group commit, 기동 시 남은 저널을 모두 반영(크래시 복구)
+ * - 핫 지정: ADMIN 수동 또는 경합 감지(app.stock.hot.auto-threshold)
+ *
+ * 지정/해제 시 재고 기준값이 어긋나지 않도록 gate(write lock) 로 예약 경로를 잠깐 멈춘다.
+ */
+@Component
+public class HotStockEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStockEngine.class);
+
+    static final int FLUSH_BATCH = 5000;
+
+    public record HotStockStatus(Long bookId, int available, int inflight, boolean retiring, boolean auto) {}
+
+    private static final class HotStock {
+        final AtomicInteger available;
+        final AtomicInteger inflight = new AtomicInteger();
+        final boolean auto;
+        volatile boolean retiring;
+        volatile int idleTicks;
+
+        HotStock(int available, boolean auto) {
+            this.available = new AtomicInteger(available);
+            this.auto = auto;
+        }
+    }
+
+    private record JournalRow(long id, long bookId, int quantity) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate requiresNew;
+    private final int autoThreshold;
+    private final int idleTicksToRelease;
+
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    /** 시작 시 복구 / 주기 flush / 해제 시 flush 가 같은 저널을 동시에 반영하지 않도록 직렬화 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<Long, HotStock> hot = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> demand = new ConcurrentHashMap<>();
+    private volatile boolean journalDirty = false;
+
+    public HotStockEngine(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.stock.hot.auto-threshold:0}") int autoThreshold,
+                          @Value("${app.stock.hot.idle-seconds:300}") int idleSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.autoThreshold = autoThreshold;
+        this.idleTicksToRelease = Math.max(1, idleSeconds);
+    }
+
+    /** 예약 경로가 잡는 공유 잠금 (지정/해제 중에는 대기) */
+    Lock reservationGate() {
+        return gate.readLock();
+    }
+
+    public boolean isHot(Long bookId) {
+        return hot.containsKey(bookId);
+    }
+
+    /** 경합 감지용 수요 기록 */
+    void recordDemand(Collection<Long> bookIds) {
+        if (autoThreshold <= 0) return;
+        for (Long id : bookIds) {
+            demand.computeIfAbsent(id, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 핫 도서면 메모리 카운터에서 차감하고 true, 아니면 false.
+     * 재고 부족이면 예외. 트랜잭션이 커밋되지 않으면 afterCompletion 에서 되돌린다.
+     * (reservationGate 보유 + 트랜잭션 안에서 호출)
+     */
+    boolean tryReserve(Long bookId, int qty) {
+        HotStock hs = hot.get(bookId);
+        if (hs == null) return false;
+
+        int prev = hs.available.getAndUpdate(a -> a >= qty ? a - qty : a);
+        if (prev < qty) {
+            throw new ApiException(ErrorCode.VALIDATION_FAILED, "재고가 부족합니다.", Map.of("book_id", bookId));
+        }
+
+        hs.inflight.incrementAndGet();
+        hs.idleTicks = 0;
+        TransactionCallbacks.afterCompletion(committed -> {
+            if (!committed) hs.available.addAndGet(qty);
+            hs.inflight.decrementAndGet();
+        });
+        return true;
+    }
+
+    /** 핫 경로 차감분을 주문 트랜잭션 안에서 저널에 기록 */
+    void journal(SortedMap<Long, Integer> hotQuantities) {
+        if (hotQuantities.isEmpty()) return;
+        journalDirty = true;
+        List<Object[]> args = new ArrayList<>(hotQuantities.size());
+        hotQuantities.forEach((bookId, qty) -> args.add(new Object[]{bookId, qty}));
+        jdbcTemplate.batchUpdate("insert into stock_reservation_journal (book_id, quantity) values (?, ?)", args);
+    }
+
+    // ---------------------------
+    // 지정 / 해제
+    // ---------------------------
+    public HotStockStatus mark(Long bookId) {
+        return mark(bookId, false);
+    }
+
+    /** 해제 요청: 진행 중인 예약이 모두 끝난 뒤 flush 주기에서 제거 */
+    public void release(Long bookId) {
+        HotStock hs = hot.get(bookId);
+        if (hs != null) hs.retiring = true;
+    }
+
+    public List<HotStockStatus> list() {
+        return hot.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> toStatus(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    private HotStockStatus mark(Long bookId, boolean auto) {
+        gate.writeLock().lock();
+        try {
+            HotStock existing = hot.get(bookId);
+            if (existing != null) {
+                existing.retiring = false;
+                return toStatus(bookId, existing);
+            }
+
+            // 진행 중인 일반 경로 차감이 커밋될 때까지 for update 로 기다린 뒤, 미반영 저널까지 빼서 기준값으로 삼는다
+            Integer available = requiresNew.execute(s -> {
+                try {
+                    Integer stock = jdbcTemplate.queryForObject(
+                            "select stock from books where id = ? and deleted_at is null for update", Integer.class, bookId);
+                    Integer pending = jdbcTemplate.queryForObject(
+                            "select coalesce(sum(quantity), 0) from stock_reservation_journal where book_id = ?", Integer.class, bookId);
+                    return stock - pending;
+                } catch (EmptyResultDataAccessException e) {
+                    return null;
+                }
+            });
+            if (available == null) {
+                throw new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다.");
+            }
+
+            HotStock hs = new HotStock(Math.max(0, available), auto);
+            hot.put(bookId, hs);
+            log.info("hot_stock_marked book_id={} available={} auto={}", bookId, hs.available.get(), auto);
+            return toStatus(bookId, hs);
+        } finally {
+            gate.writeLock().unlock();
+        }
+    }
+
+    // ---------------------------
+    // group commit / 복구
+    // ---------------------------
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        try {
+            journalDirty = true;
+            int applied = 0;
+            int n;
+            while ((n = flushJournal()) > 0) applied += n;
+            log.info("hot_stock_journal_reconciled rows={}", applied);
+        } catch (Exception e) {
+            journalDirty = false;
+            log.warn("hot_stock_journal_reconcile_failed reason={}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.hot.flush-interval-ms:200}")
+    public void flush() {
+        try {
+            flushJournal();
+            retireDrained();
+        } catch (Exception e) {
+            log.warn("hot_stock_flush_failed reason={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 커밋된 저널을 도서별로 합산해 books.stock 에 반영하고 저널 삭제 (한 트랜잭션). 반영 행 수 반환.
+     * - 인스턴스 안에서는 flushLock 으로 직렬화
+     * - 저널 행은 트랜잭션 안에서 for update skip locked 로 잡는다 → 다른 인스턴스와 같은 행을 나눠 갖지 않음
+     * - 삭제를 먼저 하고, 잡은 행이 모두 지워졌을 때만 차감 (아니면 롤백 후 다음 주기에 재시도)
+     */
+    int flushJournal() {
+        if (!journalDirty) return 0;
+
+        flushLock.lock();
+        try {
+            Integer flushed = requiresNew.execute(s -> {
+                List<JournalRow> rows = jdbcTemplate.query(
+                        "select id, book_id, quantity from stock_reservation_journal order by id limit ? for update skip locked",
+                        (rs, i) -> new JournalRow(rs.getLong("id"), rs.getLong("book_id"), rs.getInt("quantity")),
+                        FLUSH_BATCH);
+                if (rows.isEmpty()) return 0;
+
+                SortedMap<Long, Integer> perBook = new TreeMap<>();
+                List<Long> ids = new ArrayList<>(rows.size());
+                for (JournalRow r : rows) {
+                    perBook.merge(r.bookId(), r.quantity(), Integer::sum);
+                    ids.add(r.id());
+                }
+
+                int deleted = namedJdbc.update("delete from stock_reservation_journal where id in (:ids)",
+                        new MapSqlParameterSource("ids", ids));
+                if (deleted != ids.size()) {
+                    s.setRollbackOnly();
+                    log.warn("hot_stock_flush_skipped selected={} deleted={}", ids.size(), deleted);
+                    return null;
+                }
+
+                List<Object[]> args = new ArrayList<>(perBook.size());
+                perBook.forEach((bookId, qty) -> args.add(new Object[]{qty, bookId}));
+                jdbcTemplate.batchUpdate("update books set stock = stock - ? where id = ?", args);
+                return rows.size();
+            });
+
+            if (flushed == null) return 0; // 롤백됨: dirty 유지, 다음 주기에 재시도
+            if (flushed == 0 && hot.isEmpty()) journalDirty = false;
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** 해제 요청되었고 진행 중인 예약이 없는 도서를 제거 */
+    private void retireDrained() {
+        for (Map.Entry<Long, HotStock> e : hot.entrySet()) {
+            HotStock hs = e.getValue();
+            if (!hs.retiring || hs.inflight.get() > 0) continue;
+
+            gate.writeLock().lock();
+            try {
+                if (!hs.retiring || hs.inflight.get() > 0) continue;
+                while (flushJournal() > 0) {
+                    // 남은 저널을 모두 반영한 뒤 일반 경로로 전환
+                }
+                hot.remove(e.getKey());
+                log.info("hot_stock_released book_id={}", e.getKey());
+            } finally {
+                gate.writeLock().unlock();
+            }
+        }
+    }
+
+    // ---------------------------
+    // 경합 감지
+    // ---------------------------
+    @Scheduled(fixedRate = 1000)
+    public void detect() {
+        if (autoThreshold <= 0) return;
+
+        Map<Long, Long> window = new HashMap<>();
+        demand.forEach((id, adder) -> {
+            long n = adder.sumThenReset();
+            if (n > 0) window.put(id, n);
+        });
+        demand.entrySet().removeIf(en -> en.getValue().sum() == 0);
+
+        window.forEach((bookId, n) -> {
+            if (n >= autoThreshold && !hot.containsKey(bookId)) {
+                try {
+                    mark(bookId, true);
+                } catch (Exception ex) {
+                    log.warn("hot_stock_auto_mark_failed book_id={} reason={}", bookId, ex.getMessage());
+                }
+            }
+        });
+
+        hot.forEach((bookId, hs) -> {
+            if (!hs.auto || hs.retiring) return;
+            if (window.containsKey(bookId)) return;
+            if (++hs.idleTicks >= idleTicksToRelease) hs.retiring = true;
+        });
+    }
+
+    private static HotStockStatus toStatus(Long bookId, HotStock hs) {
+        return new HotStockStatus(bookId, hs.available.get(), hs.inflight.get(), hs.retiring, hs.auto);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * books.ratings_count / ratings_sum / average_rating 정합성 복구 (ADMIN 수동 실행, 백그라운드).
+ * - id 구간(CHUNK) 단위로 reviews 집계와 비교해 어긋난 도서만 찾고
+ * - 해당 도서만 재집계 update 를 배치로 실행 (재집계는 update 문 안에서 하므로 동시 리뷰 작성과 경합해도 안전)
+ */
+@Component
+public class RatingStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingStatsReconciler.class);
+
+    static final int CHUNK = 1000;
+
+    private static final String DRIFT_SQL = """
+            select b.id
+              from books b
+              left join (select book_id, count(*) c, sum(rating) s
+                           from reviews
+                          where book_id between ? and ?
+                          group by book_id) r on r.book_id = b.id
+             where b.id between ? and ?
+               and (b.ratings_count <> coalesce(r.c, 0)
+                    or b.ratings_sum <> coalesce(r.s, 0)
+                    or (coalesce(r.c, 0) > 0
+                        and abs(coalesce(b.average_rating, 0) - r.s * 1.0 / r.c) > 0.001))
+            """;
+
+    private static final String REFRESH_SQL = """
+            update books b
+               set b.ratings_count = (select count(*) from reviews r where r.book_id = ?),
+                   b.ratings_sum = (select ifnull(sum(r.rating), 0) from reviews r where r.book_id = ?),
+                   b.average_rating = (select ifnull(avg(r.rating), 0) from reviews r where r.book_id = ?)
+             where b.id = ?
+            """;
+
+    public record Status(
+            String state,
+            Instant startedAt,
+            Instant finishedAt,
+            long scannedBooks,
+            long repairedBooks,
+            String error
+    ) {
+        static Status idle() {
+            return new Status("IDLE", null, null, 0, 0, null);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rating-stats-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Status status = Status.idle();
+
+    public RatingStatsReconciler(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Status start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ApiException(ErrorCode.CONFLICT, "평점 통계 정합성 작업이 이미 실행 중입니다.");
+        }
+        status = new Status("RUNNING", Instant.now(), null, 0, 0, null);
+        executor.submit(this::run);
+        return status;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        Instant startedAt = status.startedAt();
+        long scanned = 0;
+        long repaired = 0;
+        try {
+            long lastId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "select id from books where id > ? order by id limit ?", Long.class, lastId, CHUNK);
+                if (ids.isEmpty()) break;
+
+                long from = ids.get(0);
+                long to = ids.get(ids.size() - 1);
+                List<Long> drifted = jdbcTemplate.queryForList(DRIFT_SQL, Long.class, from, to, from, to);
+                if (!drifted.isEmpty()) {
+                    jdbcTemplate.batchUpdate(REFRESH_SQL, drifted.stream()
+                            .map(id -> new Object[]{id, id, id, id})
+                            .toList());
+                }
+
+                scanned += ids.size();
+                repaired += drifted.size();
+                lastId = to;
+                status = new Status("RUNNING", startedAt, null, scanned, repaired, null);
+            }
+            status = new Status("COMPLETED", startedAt, Instant.now(), scanned, repaired, null);
+            log.info("rating_stats_reconcile_done scanned={} repaired={}", scanned, repaired);
+        } catch (Exception e) {
+            status = new Status("FAILED", startedAt, Instant.now(), scanned, repaired, e.getMessage());
+            log.warn("rating_stats_reconcile_failed scanned={} reason={}", scanned, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+}
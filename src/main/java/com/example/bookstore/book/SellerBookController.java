@@ -44,7 +44,7 @@ public class SellerBookController {
     ) {
         if (me == null) throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
         PageRequest pageable = pageRequest(page, size, limit, sort);
-        Page<BookSummaryDto> result = bookService.listForSeller(me.userId(), q, pageable);
+        Page<BookSummaryDto> result = bookService.listForSeller(me, q, pageable);
         return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(result.getContent()), ApiMeta.fromPage(result)));
     }
 
@@ -55,7 +55,7 @@ public class SellerBookController {
             @Valid @RequestBody SellerBookCreateRequest req
     ) {
         if (me == null) throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
-        Book b = bookService.createForSeller(me.userId(), req);
+        Book b = bookService.createForSeller(me, req);
         return ResponseEntity.ok(ApiResponse.ok("도서가 등록되었습니다.", Map.of("book_id", b.getId())));
     }
 
@@ -67,7 +67,7 @@ public class SellerBookController {
             @Valid @RequestBody BookPatchRequest req
     ) {
         if (me == null) throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
-        Book b = bookService.patchForSeller(me.userId(), bookId, req);
+        Book b = bookService.patchForSeller(me, bookId, req);
         BookDetailDto dto = bookService.toDetail(b);
         return ResponseEntity.ok(ApiResponse.ok("수정됨.", Map.of("book", dto)));
     }
@@ -79,7 +79,7 @@ public class SellerBookController {
             @PathVariable Long bookId
     ) {
         if (me == null) throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
-        bookService.softDeleteForSeller(me.userId(), bookId);
+        bookService.softDeleteForSeller(me, bookId);
         return ResponseEntity.noContent().build();
     }
 
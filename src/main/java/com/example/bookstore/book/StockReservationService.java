@@ -0,0 +1,74 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 주문 재고 차감(예약).
+ * - 같은 도서는 수량 합산, book_id 오름차순으로 정렬해 한 번의 JDBC batch 로 조건부 차감
+ *   → 동시 주문끼리 항상 같은 순서로 행 잠금을 잡으므로 lock-order deadlock 이 생기지 않음
+ * - 하나라도 재고가 부족하면 예외 → 호출측 트랜잭션 롤백으로 전체 원복
+ * - 핫 도서(HotStockEngine)는 DB 행 대신 메모리 카운터에서 차감하고 저널만 기록
+ */
+@Service
+public class StockReservationService {
+
+    private static final String DECREASE_SQL = """
+            update books
+               set stock = stock - ?
+             where id = ?
+               and stock >= ?
+               and deleted_at is null
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HotStockEngine hotStockEngine;
+
+    public StockReservationService(JdbcTemplate jdbcTemplate, HotStockEngine hotStockEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hotStockEngine = hotStockEngine;
+    }
+
+    /** quantities: bookId 오름차순(SortedMap) 합산 수량. 호출측 트랜잭션 안에서 실행해야 한다. */
+    public void reserve(SortedMap<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+        hotStockEngine.recordDemand(quantities.keySet());
+
+        Lock gate = hotStockEngine.reservationGate();
+        gate.lock();
+        try {
+            SortedMap<Long, Integer> hotQuantities = new TreeMap<>();
+            List<Object[]> args = new ArrayList<>(quantities.size());
+            quantities.forEach((bookId, qty) -> {
+                if (hotStockEngine.tryReserve(bookId, qty)) {
+                    hotQuantities.put(bookId, qty);
+                } else {
+                    args.add(new Object[]{qty, bookId, qty});
+                }
+            });
+
+            if (!args.isEmpty()) {
+                int[] updated = jdbcTemplate.batchUpdate(DECREASE_SQL, args);
+                for (int i = 0; i < updated.length; i++) {
+                    // SUCCESS_NO_INFO(-2) 는 드라이버가 batch 를 재작성한 경우 → 성공으로 간주
+                    if (updated[i] == 0) {
+                        throw new ApiException(ErrorCode.VALIDATION_FAILED, "재고가 부족합니다.",
+                                Map.of("book_id", args.get(i)[1]));
+                    }
+                }
+            }
+            hotStockEngine.journal(hotQuantities);
+        } finally {
+            gate.unlock();
+        }
+    }
+}
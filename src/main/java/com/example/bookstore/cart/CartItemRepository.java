@@ -1,11 +1,19 @@
 package com.example.bookstore.cart;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 import java.util.Optional;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByCartIdOrderByIdDesc(Long cartId);
     Optional<CartItem> findByCartIdAndBookId(Long cartId, Long bookId);
-    void deleteByCartId(Long cartId);
+
+    // 파생 delete 는 행마다 select 후 delete → 한 문장으로 일괄 삭제
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from CartItem ci where ci.cartId = :cartId")
+    int deleteByCartId(@Param("cartId") Long cartId);
 }
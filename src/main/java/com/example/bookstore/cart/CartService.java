@@ -1,5 +1,6 @@
 package com.example.bookstore.cart;
 
+import com.example.bookstore.activity.ActivityEventPipeline;
 import com.example.bookstore.book.BookRepository;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
@@ -17,11 +18,14 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final BookRepository bookRepository;
+    private final ActivityEventPipeline activityEvents;
 
-    public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository, BookRepository bookRepository) {
+    public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository, BookRepository bookRepository,
+                       ActivityEventPipeline activityEvents) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.bookRepository = bookRepository;
+        this.activityEvents = activityEvents;
     }
 
     @Transactional
@@ -64,6 +68,7 @@ public class CartService {
             if (snap.getStock() < newQty) throw new ApiException(ErrorCode.VALIDATION_FAILED, "재고가 부족합니다.");
             item.setQuantity(newQty);
         }
+        activityEvents.recordCartAfterCommit(userId, bookId, "add", quantity);
 
         return getCartView(userId);
     }
@@ -84,6 +89,7 @@ public class CartService {
 
         if (snap.getStock() < quantity) throw new ApiException(ErrorCode.VALIDATION_FAILED, "재고가 부족합니다.");
         item.setQuantity(quantity);
+        activityEvents.recordCartAfterCommit(userId, item.getBookId(), "update", quantity);
 
         return getCartView(userId);
     }
@@ -99,6 +105,7 @@ public class CartService {
             throw new ApiException(ErrorCode.FORBIDDEN, "권한이 없습니다.");
         }
         cartItemRepository.delete(item);
+        activityEvents.recordCartAfterCommit(userId, item.getBookId(), "remove", item.getQuantity());
     }
 
 
@@ -3,6 +3,7 @@ package com.example.bookstore.comment;
 import com.example.bookstore.comment.dto.CommentDtos.*;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.review.LikeCountWriteBehind;
 import com.example.bookstore.review.ReviewRepository;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -18,13 +19,16 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final ReviewRepository reviewRepository;
+    private final LikeCountWriteBehind likeCounts;
 
     public CommentService(CommentRepository commentRepository,
                           CommentLikeRepository commentLikeRepository,
-                          ReviewRepository reviewRepository) {
+                          ReviewRepository reviewRepository,
+                          LikeCountWriteBehind likeCounts) {
         this.commentRepository = commentRepository;
         this.commentLikeRepository = commentLikeRepository;
         this.reviewRepository = reviewRepository;
+        this.likeCounts = likeCounts;
     }
 
     @Transactional(readOnly = true)
@@ -95,7 +99,7 @@ public class CommentService {
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "댓글을 찾을 수 없습니다."));
 
         if (commentLikeRepository.existsByUserIdAndCommentId(userId, commentId)) {
-            return new LikePayload(true, c.getLikeCount());
+            return new LikePayload(true, currentLikeCount(c, 0));
         }
 
         CommentLike like = new CommentLike();
@@ -105,12 +109,13 @@ public class CommentService {
         try {
             commentLikeRepository.save(like);
         } catch (DataIntegrityViolationException e) {
-            // 동시성으로 이미 생겼을 수 있음
+            // 동시성으로 이미 생겼을 수 있음 → 카운트는 올리지 않음
+            return new LikePayload(true, currentLikeCount(c, 0));
         }
 
-        c.setLikeCount(c.getLikeCount() + 1);
-        commentRepository.save(c);
-        return new LikePayload(true, c.getLikeCount());
+        // like_count 는 커밋 이후 write-behind 로 반영
+        likeCounts.addCommentAfterCommit(commentId, 1);
+        return new LikePayload(true, currentLikeCount(c, 1));
     }
 
     @Transactional
@@ -120,13 +125,17 @@ public class CommentService {
 
         var existing = commentLikeRepository.findByUserIdAndCommentId(userId, commentId);
         if (existing.isEmpty()) {
-            return new LikePayload(false, c.getLikeCount());
+            return new LikePayload(false, currentLikeCount(c, 0));
         }
 
         commentLikeRepository.delete(existing.get());
-        c.setLikeCount(Math.max(0, c.getLikeCount() - 1));
-        commentRepository.save(c);
-        return new LikePayload(false, c.getLikeCount());
+        likeCounts.addCommentAfterCommit(commentId, -1);
+        return new LikePayload(false, currentLikeCount(c, -1));
+    }
+
+    /** DB 값 + 아직 flush 되지 않은 증감 + 이번 요청분 */
+    private int currentLikeCount(Comment c, int delta) {
+        return (int) Math.max(0, c.getLikeCount() + likeCounts.pendingComment(c.getId()) + delta);
     }
 
     private CommentDto toDto(Comment c, boolean liked) {
@@ -1,9 +1,22 @@
 package com.example.bookstore.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
 
-public record ApiMeta(int page, int limit, long total, boolean hasNext) {
+/**
+ * 목록 meta.
+ * - offset 모드: page/limit/total/has_next
+ * - cursor 모드: limit/has_next/next_cursor (count 쿼리를 하지 않으므로 page/total 없음)
+ * - search_capped: 검색 후보 상한으로 결과가 잘렸을 때만 true (total 은 상한 안의 개수)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiMeta(Integer page, int limit, Long total, boolean hasNext, String nextCursor, Boolean searchCapped) {
     public static ApiMeta fromPage(Page<?> page) {
-        return new ApiMeta(page.getNumber() + 1, page.getSize(), page.getTotalElements(), page.hasNext());
+        return new ApiMeta(page.getNumber() + 1, page.getSize(), page.getTotalElements(), page.hasNext(), null,
+                page instanceof CappedPage<?> ? Boolean.TRUE : null);
+    }
+
+    public static ApiMeta fromCursor(CursorSlice<?> slice, int limit) {
+        return new ApiMeta(null, limit, null, slice.hasNext(), slice.nextCursor(), slice.capped() ? Boolean.TRUE : null);
     }
 }
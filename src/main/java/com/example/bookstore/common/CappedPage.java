@@ -0,0 +1,17 @@
+package com.example.bookstore.common;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 후보 상한으로 잘린 결과의 페이지 (total 은 상한 안에서의 개수).
+ * → 응답 meta.search_capped=true 로 클라이언트에 알린다.
+ */
+public class CappedPage<T> extends PageImpl<T> {
+
+    public CappedPage(List<T> content, Pageable pageable, long total) {
+        super(content, pageable, total);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.bookstore.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 모드 목록 결과 (count 쿼리 없음).
+ * capped: 검색 후보 상한 때문에 뒤쪽 결과가 잘렸는지
+ */
+public record CursorSlice<T>(List<T> items, boolean hasNext, String nextCursor, boolean capped) {
+
+    /**
+     * rows는 limit + 1 건까지 조회한 결과. 초과분이 있으면 hasNext=true, 마지막 행으로 다음 커서 생성.
+     */
+    public static <E, T> CursorSlice<T> of(List<E> rows, int limit,
+                                           Function<E, String> cursorOf,
+                                           Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorSlice<>(page.stream().map(mapper).toList(), hasNext, next, false);
+    }
+
+    public CursorSlice<T> withCapped(boolean capped) {
+        return new CursorSlice<>(items, hasNext, nextCursor, capped);
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -76,6 +78,22 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    /** 커넥션 풀 포화(가드 거절/대기 초과) → 500 대신 503 으로 빠르게 실패 */
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleNoConnection(Exception e, HttpServletRequest req) {
+        int status = ErrorCode.SERVICE_UNAVAILABLE.status().value();
+        log.warn("db_connection_unavailable path={} status={} reason={}", req.getRequestURI(), status, e.getMessage());
+        return ResponseEntity.status(status)
+                .body(new ErrorResponse(
+                        Instant.now().toString(),
+                        req.getRequestURI(),
+                        status,
+                        ErrorCode.SERVICE_UNAVAILABLE.name(),
+                        "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.",
+                        null
+                ));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAny(Exception e, HttpServletRequest req) {
         int status = ErrorCode.INTERNAL_ERROR.status().value();
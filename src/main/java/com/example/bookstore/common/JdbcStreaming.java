@@ -0,0 +1,36 @@
+package com.example.bookstore.common;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 대량 조회를 행 단위로 흘려 읽는 공통 헬퍼 (정산/랭킹 배치).
+ * - forward-only, read-only 커서 + fetch size 스트리밍 → 결과 전체를 메모리에 올리지 않는다
+ * - 스트리밍 중인 커넥션으로는 다른 문장을 실행할 수 없으므로 호출측은 트랜잭션 밖에서 호출해야 한다
+ */
+public final class JdbcStreaming {
+    private JdbcStreaming() {}
+
+    public static final int FETCH_SIZE = 1000;
+
+    public static void query(JdbcTemplate jdbcTemplate, String sql, List<Object> args, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL(Connector/J)은 Integer.MIN_VALUE 일 때만 행 단위 스트리밍
+            ps.setFetchSize(isMySql(con) ? Integer.MIN_VALUE : FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+            return ps;
+        }, handler);
+    }
+
+    private static boolean isMySql(Connection con) throws SQLException {
+        return con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bookstore.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 키셋(seek) 페이지네이션 커서.
+ * - (정렬 기준, 마지막 행의 정렬키 값, 마지막 행의 id)를 base64url 불투명 문자열로 인코딩
+ * - 다른 정렬 기준으로 발급된 커서는 거부한다.
+ */
+public record KeysetCursor(String sort, String value, long id) {
+
+    public String encode() {
+        String raw = sort + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** cursor 파라미터가 전달되면(빈 값 포함) 커서 모드 */
+    public static boolean isCursorMode(String raw) {
+        return raw != null;
+    }
+
+    /** 빈 cursor= 는 첫 페이지 */
+    public static boolean isFirstPage(String raw) {
+        return raw == null || raw.isBlank();
+    }
+
+    public static KeysetCursor decode(String raw, String expectedSort) {
+        try {
+            String s = new String(Base64.getUrlDecoder().decode(raw.trim()), StandardCharsets.UTF_8);
+            String[] parts = s.split("\\|", -1);
+            if (parts.length != 3) throw new IllegalArgumentException("parts");
+
+            KeysetCursor c = new KeysetCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+            if (!c.sort().equals(expectedSort)) {
+                throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "cursor의 정렬 기준이 요청과 다릅니다.",
+                        Map.of("cursor", "issued for sort=" + c.sort()));
+            }
+            return c;
+        } catch (ApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "cursor 형식이 올바르지 않습니다.",
+                    Map.of("cursor", "invalid"));
+        }
+    }
+}
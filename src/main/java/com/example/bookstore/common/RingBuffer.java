@@ -0,0 +1,87 @@
+package com.example.bookstore.common;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 lock-free 링 버퍼 (다중 생산자 / 다중 소비자, 슬롯별 sequence 방식).
+ * - offer(): 가득 차면 기다리지 않고 false → 요청 경로에 지연을 만들지 않음
+ * - 용량은 2의 거듭제곱으로 올림
+ */
+public class RingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    // 슬롯 i 의 sequence: == pos 이면 pos 번째 쓰기 가능, == pos + 1 이면 pos 번째 읽기 가능
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("capacity must be >= 2");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    public boolean offer(T item) {
+        if (item == null) throw new NullPointerException();
+        while (true) {
+            long pos = tail.get();
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items.set(idx, item);
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false; // 가득 참
+            }
+            // diff > 0: 다른 생산자가 먼저 가져감 → 재시도
+        }
+    }
+
+    public T poll() {
+        while (true) {
+            long pos = head.get();
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T item = items.getAndSet(idx, null);
+                    sequences.set(idx, pos + mask + 1);
+                    return item;
+                }
+            } else if (diff < 0) {
+                return null; // 비어 있음 (또는 생산자가 쓰는 중)
+            }
+        }
+    }
+
+    /** 최대 max 개를 꺼내 out 에 추가. 꺼낸 개수 반환 */
+    public int drainTo(Collection<? super T> out, int max) {
+        int n = 0;
+        T item;
+        while (n < max && (item = poll()) != null) {
+            out.add(item);
+            n++;
+        }
+        return n;
+    }
+
+    /** 근사값 (동시 변경 중에는 정확하지 않음) */
+    public int size() {
+        long s = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(s, capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
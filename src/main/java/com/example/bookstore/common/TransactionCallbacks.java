@@ -0,0 +1,42 @@
+package com.example.bookstore.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * 현재 트랜잭션의 커밋/종료 시점에 실행할 콜백 등록 헬퍼.
+ * - 트랜잭션 동기화가 없으면(트랜잭션 밖 호출) 바로 실행한다
+ */
+public final class TransactionCallbacks {
+    private TransactionCallbacks() {}
+
+    /** 커밋 이후 실행 (롤백이면 실행하지 않음) */
+    public static void afterCommit(Runnable r) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            r.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                r.run();
+            }
+        });
+    }
+
+    /** 커밋/롤백과 무관하게 트랜잭션 종료 후 실행 (인자: 커밋 여부) */
+    public static void afterCompletion(Consumer<Boolean> r) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            r.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                r.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.bookstore.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * id 별 증감(delta)을 메모리에서 모았다가 주기적으로 한 번에 반영하기 위한 카운터.
+ * - add(): id 당 LongAdder 로 경합 없이 누적
+ * - drain(): 현재 세대(map)를 교체하고 누적분을 꺼냄 → 호출측이 DB에 반영 후 complete()
+ * - pending(): 아직 DB에 반영되지 않은 누적분(응답 값 보정용)
+ *
+ * 교체된 이전 세대는 한 주기 더 보관했다가 다음 drain() 에서 다시 비운다.
+ * (세대 교체 직전에 map 을 집어간 add() 가 잃어버리지 않도록)
+ */
+public class WriteBehindCounter {
+
+    private volatile ConcurrentHashMap<Long, LongAdder> active = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, LongAdder> retired = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> inflight = Map.of();
+
+    public void add(Long id, long delta) {
+        if (id == null || delta == 0) return;
+        active.computeIfAbsent(id, k -> new LongAdder()).add(delta);
+    }
+
+    public long pending(Long id) {
+        return sumOf(active, id) + sumOf(retired, id) + inflight.getOrDefault(id, 0L);
+    }
+
+    /** 반영할 delta(0 제외)를 꺼낸다. 반영 결과에 따라 complete() 또는 restore() 를 호출해야 한다. */
+    public synchronized Map<Long, Long> drain() {
+        Map<Long, Long> out = new HashMap<>();
+        collect(retired, out);
+
+        ConcurrentHashMap<Long, LongAdder> old = active;
+        active = new ConcurrentHashMap<>();
+        collect(old, out);
+        retired = old;
+
+        out.values().removeIf(v -> v == 0L);
+        inflight = Map.copyOf(out);
+        return out;
+    }
+
+    /** drain() 한 값이 DB에 반영됨 */
+    public synchronized void complete() {
+        inflight = Map.of();
+    }
+
+    /** 반영 실패 → 다음 주기에 다시 시도하도록 되돌림 */
+    public synchronized void restore(Map<Long, Long> drained) {
+        drained.forEach(this::add);
+        inflight = Map.of();
+    }
+
+    public boolean isEmpty() {
+        return active.isEmpty() && retired.values().stream().allMatch(a -> a.sum() == 0L);
+    }
+
+    private static void collect(Map<Long, LongAdder> source, Map<Long, Long> out) {
+        source.forEach((id, adder) -> {
+            long d = adder.sumThenReset();
+            if (d != 0L) out.merge(id, d, Long::sum);
+        });
+    }
+
+    private static long sumOf(Map<Long, LongAdder> m, Long id) {
+        LongAdder a = m.get(id);
+        return a == null ? 0L : a.sum();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ApiResponse;
+import com.example.bookstore.common.ErrorCode;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ADMIN: 캐시 사이징용 통계 조회.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    private final CacheManager cacheManager;
+
+    public AdminCacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // GET /api/admin/caches/{name}/stats
+    @GetMapping("/{name}/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> stats(@PathVariable String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (!(cache instanceof CaffeineCache caffeine)) {
+            throw new ApiException(ErrorCode.NOT_FOUND, "캐시를 찾을 수 없습니다.", Map.of("name", name));
+        }
+
+        CacheStats st = caffeine.getNativeCache().stats();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", name);
+        payload.put("estimated_size", caffeine.getNativeCache().estimatedSize());
+        payload.put("hit_count", st.hitCount());
+        payload.put("miss_count", st.missCount());
+        payload.put("hit_rate", st.hitRate());
+        payload.put("eviction_count", st.evictionCount());
+        payload.put("load_count", st.loadCount());
+        return ResponseEntity.ok(ApiResponse.ok("OK", payload));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.common.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ADMIN: 실행 모드 진단 (가상 스레드 사용 여부, pinning 통계, 커넥션 풀 가드 상태, replica 라우팅).
+ */
+@RestController
+@RequestMapping("/api/admin/runtime")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRuntimeController {
+
+    private final boolean virtualThreads;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final DataSource dataSource;
+
+    public AdminRuntimeController(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                  VirtualThreadPinningMonitor pinningMonitor,
+                                  DataSource dataSource) {
+        this.virtualThreads = virtualThreads;
+        this.pinningMonitor = pinningMonitor;
+        this.dataSource = dataSource;
+    }
+
+    // GET /api/admin/runtime/stats
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> stats() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("virtual_threads", virtualThreads);
+        payload.put("request_thread_virtual", Thread.currentThread().isVirtual());
+        payload.put("pinning", pinningMonitor.stats());
+        if (dataSource instanceof LazyConnectionDataSourceProxy p && p.getTargetDataSource() instanceof ReplicaRoutingDataSource r) {
+            Map<String, Object> guards = new LinkedHashMap<>();
+            guards.put("primary", guardStats(r.primary()));
+            guards.put("replica", guardStats(r.replica()));
+            payload.put("db_guard", guards);
+            payload.put("replica", r.stats());
+        } else {
+            payload.put("db_guard", guardStats(dataSource));
+            payload.put("replica", null);
+        }
+        return ResponseEntity.ok(ApiResponse.ok("OK", payload));
+    }
+
+    private static GuardedDataSource.Stats guardStats(DataSource ds) {
+        return ds instanceof GuardedDataSource g ? g.stats() : null;
+    }
+}
@@ -1,17 +1,36 @@
 package com.example.bookstore.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.cache.annotation.EnableCaching;
 
+import java.time.Duration;
+
+/**
+ * 캐시 설정.
+ * - topReviews: key=bookId, 크기 제한 + TTL + 통계(hit/miss/eviction)
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String TOP_REVIEWS = "topReviews";
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("topReviews");
+    public CacheManager cacheManager(
+            @Value("${app.cache.top-reviews.maximum-size:10000}") long topReviewsMaxSize,
+            @Value("${app.cache.top-reviews.expire-after-write:10m}") Duration topReviewsTtl
+    ) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(TOP_REVIEWS, Caffeine.newBuilder()
+                .maximumSize(topReviewsMaxSize)
+                .expireAfterWrite(topReviewsTtl)
+                .recordStats()
+                .build());
+        return manager;
     }
 }
@@ -0,0 +1,42 @@
+package com.example.bookstore.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * app.db.guard.enabled 이면 DataSource 를 GuardedDataSource 로 감싼다 (가상 스레드 모드 기본 사용).
+ * permits 는 풀 크기(Hikari maximumPoolSize)와 같게 → DB 동시 사용자는 스레드 수가 아니라 풀 크기로 제한.
+ * replica 라우팅을 쓰면 ReplicaDataSourceConfig 가 풀마다 따로 감싼다.
+ */
+@Configuration
+public class ConnectionPoolGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPoolGuard(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds)) return bean;
+                if (bean instanceof LazyConnectionDataSourceProxy p
+                        && p.getTargetDataSource() instanceof ReplicaRoutingDataSource) return bean;
+                return guard(ds, env);
+            }
+        };
+    }
+
+    static DataSource guard(DataSource ds, Environment env) {
+        if (ds instanceof GuardedDataSource) return ds;
+        if (!env.getProperty("app.db.guard.enabled", Boolean.class, false)) return ds;
+
+        int permits = ds instanceof HikariDataSource h ? h.getMaximumPoolSize() : 10;
+        return new GuardedDataSource(ds, permits,
+                env.getProperty("app.db.guard.max-waiters", Integer.class, 200),
+                env.getProperty("app.db.guard.acquire-timeout-ms", Long.class, 2000L));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bookstore.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션 풀 가드: 동시에 커넥션을 쥘 수 있는 수를 permits(= 풀 크기)로, 기다릴 수 있는 수를 maxWaiters 로 제한.
+ * - 가상 스레드 모드에서는 요청 스레드 수가 사실상 무제한이라, 풀이 바쁠 때 수천 개가 풀 대기열에 쌓여
+ *   connectionTimeout 동안 붙잡혀 있게 된다 → 대기자가 넘치면 즉시, 대기가 길어지면 acquireTimeout 뒤 실패
+ * - 대기는 Semaphore(park) 이므로 가상 스레드를 캐리어 스레드에 고정(pin)하지 않는다
+ * - 커넥션 close() 때 permit 반환 (중복 close 는 한 번만)
+ */
+public class GuardedDataSource extends DelegatingDataSource {
+
+    public record Stats(int permits, int inUse, int waiting, int maxWaiters,
+                        long acquired, long rejected, long timedOut, long maxWaitMillis) {}
+
+    private final int permits;
+    private final int maxWaiters;
+    private final long acquireTimeoutMs;
+    private final Semaphore semaphore;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public GuardedDataSource(DataSource target, int permits, int maxWaiters, long acquireTimeoutMs) {
+        super(target);
+        this.permits = Math.max(1, permits);
+        this.maxWaiters = Math.max(0, maxWaiters);
+        this.acquireTimeoutMs = Math.max(1, acquireTimeoutMs);
+        this.semaphore = new Semaphore(this.permits, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(permits, permits - semaphore.availablePermits(), waiting.get(), maxWaiters,
+                acquired.sum(), rejected.sum(), timedOut.sum(), maxWaitNanos.get() / 1_000_000);
+    }
+
+    private void acquire() throws SQLException {
+        if (semaphore.tryAcquire()) {
+            acquired.increment();
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new SQLTransientConnectionException("DB 커넥션 대기자가 너무 많습니다. (waiting > " + maxWaiters + ")");
+        }
+        long started = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timedOut.increment();
+                throw new SQLTransientConnectionException("DB 커넥션 대기 시간 초과 (" + acquireTimeoutMs + "ms)");
+            }
+            acquired.increment();
+            maxWaitNanos.accumulateAndGet(System.nanoTime() - started, Math::max);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("DB 커넥션 대기 중 인터럽트", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private Connection guarded(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("close")) {
+                try {
+                    target.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) semaphore.release();
+                }
+                return null;
+            }
+            if (name.equals("unwrap") && args[0] == Connection.class) return proxy;
+            if (name.equals("equals")) return proxy == args[0];
+            if (name.equals("hashCode")) return System.identityHashCode(proxy);
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bookstore.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * app.datasource.replica.enabled 이면 primary / replica 두 풀을 만들고 읽기 전용 트랜잭션을 replica 로 라우팅.
+ * (꺼져 있으면 기본 spring.datasource 하나만 사용)
+ * replica 지연 확인은 전용 스레드에서 실행 (공용 @Scheduled 스레드의 긴 작업에 밀려 오래된 값으로 라우팅하지 않도록)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
+    private ReplicaRoutingDataSource routing;
+    private ScheduledExecutorService lagChecker;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(Environment env) {
+        int primarySize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        primaryPool = pool("primary", env.getProperty("spring.datasource.url"),
+                env.getProperty("spring.datasource.username"), env.getProperty("spring.datasource.password"),
+                env.getProperty("spring.datasource.driver-class-name"), primarySize, false);
+        replicaPool = pool("replica", env.getRequiredProperty("app.datasource.replica.url"),
+                env.getProperty("app.datasource.replica.username", env.getProperty("spring.datasource.username")),
+                env.getProperty("app.datasource.replica.password", env.getProperty("spring.datasource.password")),
+                env.getProperty("spring.datasource.driver-class-name"),
+                env.getProperty("app.datasource.replica.pool-size", Integer.class, primarySize), true);
+
+        long lagCheckIntervalMs = Math.max(1, env.getProperty("app.datasource.replica.lag-check-interval-ms", Long.class, 1000L));
+        routing = new ReplicaRoutingDataSource(
+                ConnectionPoolGuardConfig.guard(primaryPool, env),
+                ConnectionPoolGuardConfig.guard(replicaPool, env),
+                env.getProperty("app.datasource.replica.sticky-ms", Long.class, 5000L),
+                env.getProperty("app.datasource.replica.max-lag-ms", Long.class, 2000L),
+                lagCheckIntervalMs,
+                env.getProperty("app.datasource.replica.lag-query", "SHOW REPLICA STATUS"),
+                env.getProperty("app.datasource.replica.lag-column", "Seconds_Behind_Source"));
+
+        lagChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-check");
+            t.setDaemon(true);
+            return t;
+        });
+        lagChecker.scheduleWithFixedDelay(routing::checkLag, 0, lagCheckIntervalMs, TimeUnit.MILLISECONDS);
+        // 트랜잭션 readOnly 여부가 정해진 뒤(첫 문장 실행 시) 실제 커넥션을 고르도록
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @PreDestroy
+    void close() {
+        if (lagChecker != null) lagChecker.shutdownNow();
+        if (replicaPool != null) replicaPool.close();
+        if (primaryPool != null) primaryPool.close();
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password,
+                                         String driverClassName, int size, boolean readOnly) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(name);
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        if (driverClassName != null) ds.setDriverClassName(driverClassName);
+        ds.setMaximumPoolSize(Math.max(1, size));
+        ds.setReadOnly(readOnly);
+        return ds;
+    }
+}
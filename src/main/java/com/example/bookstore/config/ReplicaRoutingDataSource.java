@@ -0,0 +1,166 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.common.TransactionCallbacks;
+import com.example.bookstore.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))을 replica 로 보내는 라우팅 DataSource.
+ * - 쓰기 트랜잭션 / 트랜잭션 밖 → primary
+ * - 사용자가 쓰기 트랜잭션을 커밋한 뒤 sticky-ms 동안은 그 사용자의 읽기도 primary (read-your-writes)
+ * - replica 지연이 max-lag-ms 를 넘거나 확인이 실패하면 정상화될 때까지 모두 primary
+ * - 마지막 확인이 확인 주기의 3배보다 오래됐으면(확인 스레드 정지/지연) 그 값도 믿지 않고 primary
+ *
+ * 트랜잭션 속성이 정해진 뒤 커넥션을 잡아야 하므로 LazyConnectionDataSourceProxy 로 감싸서 쓴다.
+ * sticky 상태는 인스턴스 메모리에만 있으므로 여러 인스턴스면 LB 사용자 고정(세션 어피니티)과 함께 쓴다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Target { primary, replica }
+
+    public record Stats(boolean replicaHealthy, Long lagMillis, long maxLagMillis, long stickyMillis,
+                        long primaryRoutes, long replicaRoutes, long stickyReads, long lagFallbacks) {}
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long stickyMs;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long staleAfterMs;
+    private final Cache<Long, Boolean> stickyUsers;
+
+    private volatile boolean replicaHealthy = true;
+    private volatile Long lagMillis;
+    private volatile long checkedAtMs = System.currentTimeMillis();
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder lagFallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long stickyMs, long maxLagMs,
+                                    long lagCheckIntervalMs, String lagQuery, String lagColumn) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickyMs = Math.max(0, stickyMs);
+        this.maxLagMs = Math.max(0, maxLagMs);
+        this.staleAfterMs = 3 * Math.max(1, lagCheckIntervalMs);
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.lagColumn = lagColumn;
+        this.stickyUsers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, this.stickyMs)))
+                .build();
+
+        setTargetDataSources(Map.of(Target.primary, primary, Target.replica, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public DataSource replica() {
+        return replica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target t = route();
+        (t == Target.primary ? primaryRoutes : replicaRoutes).increment();
+        return t;
+    }
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) markAfterCommit(currentUserId());
+            return Target.primary;
+        }
+        if (!replicaUsable(System.currentTimeMillis())) {
+            lagFallbacks.increment();
+            return Target.primary;
+        }
+        Long userId = currentUserId();
+        if (userId != null && stickyUsers.getIfPresent(userId) != null) {
+            stickyReads.increment();
+            return Target.primary;
+        }
+        return Target.replica;
+    }
+
+    /** 쓰기 트랜잭션이 커밋되면 그 사용자를 sticky-ms 동안 primary 에 고정 */
+    private void markAfterCommit(Long userId) {
+        if (userId == null || stickyMs == 0) return;
+        TransactionCallbacks.afterCommit(() -> stickyUsers.put(userId, Boolean.TRUE));
+    }
+
+    private static Long currentUserId() {
+        Authentication a = SecurityContextHolder.getContext().getAuthentication();
+        return a != null && a.getPrincipal() instanceof UserPrincipal me ? me.userId() : null;
+    }
+
+    /**
+     * replica 지연 확인 (설정 주기마다).
+     * lag-query 가 비어 있으면 연결 확인만, 결과 행이 없으면 복제 대상이 아닌 것으로 보고 지연 0.
+     */
+    public void checkLag() {
+        Long lag;
+        try (Connection con = replica.getConnection(); Statement st = con.createStatement()) {
+            if (lagQuery.isEmpty()) {
+                st.execute("select 1");
+                lag = 0L;
+            } else {
+                try (ResultSet rs = st.executeQuery(lagQuery)) {
+                    if (!rs.next()) {
+                        lag = 0L;
+                    } else {
+                        long seconds = rs.getLong(lagColumn);
+                        lag = rs.wasNull() ? null : seconds * 1000; // null: 복제 중단
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("replica_lag_check_failed reason={}", e.getMessage());
+            lag = null;
+        }
+        updateHealth(lag);
+    }
+
+    /** 마지막 확인이 정상이고 아직 오래되지 않았을 때만 replica 사용 */
+    boolean replicaUsable(long nowMs) {
+        return replicaHealthy && nowMs - checkedAtMs <= staleAfterMs;
+    }
+
+    void updateHealth(Long lag) {
+        boolean healthy = lag != null && lag <= maxLagMs;
+        lagMillis = lag;
+        checkedAtMs = System.currentTimeMillis();
+        if (healthy != replicaHealthy) {
+            log.warn("replica_routing_{} lag_ms={} max_lag_ms={}", healthy ? "resumed" : "fallback_to_primary", lag, maxLagMs);
+        }
+        replicaHealthy = healthy;
+    }
+
+    public Stats stats() {
+        return new Stats(replicaUsable(System.currentTimeMillis()), lagMillis, maxLagMs, stickyMs,
+                primaryRoutes.sum(), replicaRoutes.sum(), stickyReads.sum(), lagFallbacks.sum());
+    }
+}
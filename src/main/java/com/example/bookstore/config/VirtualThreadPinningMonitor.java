@@ -0,0 +1,133 @@
+package com.example.bookstore.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 pinning 진단 (JFR jdk.VirtualThreadPinned 이벤트 스트림).
+ * - synchronized 블록/네이티브 프레임 안에서 블로킹되어 캐리어 스레드를 threshold 이상 붙잡은 경우를 기록
+ * - 호출 위치(JDK 프레임을 제외한 첫 프레임)별 횟수/누적 시간, 위치별 첫 발생은 스택 요약과 함께 warn 로그
+ * - Hibernate / JDBC 드라이버 내부의 synchronized 경로가 실제로 문제인지 운영 중 확인하는 용도
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final int MAX_SITES = 100;
+    static final int STACK_DEPTH = 8;
+
+    public record Site(String frame, long count, long totalMillis) {}
+
+    public record Stats(boolean enabled, long thresholdMillis, long pinned, long totalMillis, long maxMillis, List<Site> topSites) {}
+
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+    }
+
+    private final boolean enabled;
+    private final long thresholdMs;
+    private final Map<String, Counter> sites = new ConcurrentHashMap<>();
+    private final LongAdder pinned = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.virtual-threads.pinning.enabled:false}") boolean enabled,
+                                       @Value("${app.virtual-threads.pinning.threshold-ms:20}") long thresholdMs) {
+        this.enabled = enabled;
+        this.thresholdMs = Math.max(0, thresholdMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        try {
+            RecordingStream rs = new RecordingStream();
+            rs.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            rs.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            rs.startAsync();
+            stream = rs;
+            log.info("virtual_thread_pinning_monitor_started threshold_ms={}", thresholdMs);
+        } catch (Exception e) {
+            log.warn("virtual_thread_pinning_monitor_failed reason={}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        RecordingStream rs = stream;
+        if (rs != null) rs.close();
+    }
+
+    public Stats stats() {
+        List<Site> top = sites.entrySet().stream()
+                .map(e -> new Site(e.getKey(), e.getValue().count.sum(), e.getValue().nanos.sum() / 1_000_000))
+                .sorted(Comparator.comparingLong(Site::totalMillis).reversed())
+                .limit(20)
+                .toList();
+        return new Stats(enabled, thresholdMs, pinned.sum(), totalNanos.sum() / 1_000_000,
+                maxNanos.get() / 1_000_000, top);
+    }
+
+    private void onPinned(RecordedEvent e) {
+        long nanos = e.getDuration().toNanos();
+        pinned.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+
+        RecordedStackTrace st = e.getStackTrace();
+        List<RecordedFrame> frames = st == null ? List.of() : st.getFrames();
+        String site = siteOf(frames);
+
+        Counter c = sites.get(site);
+        if (c == null) {
+            if (sites.size() >= MAX_SITES) site = "(other)";
+            c = sites.computeIfAbsent(site, k -> new Counter());
+            if (c.count.sum() == 0) {
+                log.warn("virtual_thread_pinned site={} duration_ms={} stack={}", site, nanos / 1_000_000, summary(frames));
+            }
+        }
+        c.count.increment();
+        c.nanos.add(nanos);
+    }
+
+    private static String siteOf(List<RecordedFrame> frames) {
+        for (RecordedFrame f : frames) {
+            if (!f.isJavaFrame()) continue;
+            String type = f.getMethod().getType().getName();
+            if (type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")) continue;
+            return type + "." + f.getMethod().getName();
+        }
+        return "(unknown)";
+    }
+
+    private static String summary(List<RecordedFrame> frames) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(STACK_DEPTH, frames.size()); i++) {
+            RecordedFrame f = frames.get(i);
+            if (i > 0) sb.append(" <- ");
+            sb.append(f.getMethod().getType().getName()).append('.').append(f.getMethod().getName())
+                    .append(':').append(f.getLineNumber());
+        }
+        return sb.toString();
+    }
+}
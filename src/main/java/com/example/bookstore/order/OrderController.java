@@ -41,9 +41,14 @@ public class OrderController {
             @AuthenticationPrincipal UserPrincipal me,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
         var pageable = PageableUtil.pageRequest(page, size, limit);
+        if (KeysetCursor.isCursorMode(cursor)) {
+            var slice = orderService.listMyByCursor(me.userId(), pageable.getPageSize(), cursor);
+            return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(slice.items()), ApiMeta.fromCursor(slice, pageable.getPageSize())));
+        }
         Page<OrderSummaryDto> result = orderService.listMy(me.userId(), pageable);
         return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(result.getContent()), ApiMeta.fromPage(result)));
     }
@@ -0,0 +1,12 @@
+package com.example.bookstore.order;
+
+import java.util.List;
+
+/**
+ * order_items 대량 insert (IDENTITY 키라 Hibernate batch 가 안 되므로 JDBC batch 로 우회).
+ */
+public interface OrderItemBatchRepository {
+
+    /** id 는 채워지지 않는다. 호출측 트랜잭션에 참여한다. */
+    void batchInsert(List<OrderItem> items);
+}
@@ -0,0 +1,34 @@
+package com.example.bookstore.order;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class OrderItemBatchRepositoryImpl implements OrderItemBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into order_items (order_id, book_id, seller_id, quantity, unit_price_cents, subtotal_cents)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderItemBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<OrderItem> items) {
+        if (items.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, BATCH_SIZE, (ps, oi) -> {
+            ps.setLong(1, oi.getOrderId());
+            ps.setLong(2, oi.getBookId());
+            ps.setLong(3, oi.getSellerId());
+            ps.setInt(4, oi.getQuantity());
+            ps.setInt(5, oi.getUnitPriceCents());
+            ps.setInt(6, oi.getSubtotalCents());
+        });
+    }
+}
@@ -9,13 +9,14 @@ import org.springframework.data.repository.query.Param;
 import java.time.Instant;
 import java.util.List;
 
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemBatchRepository {
 
     List<OrderItem> findByOrderId(Long orderId);
 
     List<OrderItem> findByOrderIdAndSellerId(Long orderId, Long sellerId);
 
     interface SellerOrderItemRow {
+        Long getOrderItemId();
         Long getOrderId();
         Long getUserId();
         String getStatus();
@@ -28,7 +29,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     @Query(
             value = """
-                    select oi.order_id          as orderId,
+                    select oi.id                as orderItemId,
+                           oi.order_id          as orderId,
                            o.user_id           as userId,
                            o.status            as status,
                            o.created_at        as createdAt,
@@ -50,6 +52,33 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     )
     Page<SellerOrderItemRow> findSellerOrderItems(@Param("sellerId") Long sellerId, Pageable pageable);
 
+    /**
+     * 커서 모드(키셋): oi.id < beforeId 로 seek, count 쿼리 없음.
+     */
+    @Query(
+            value = """
+                    select oi.id                as orderItemId,
+                           oi.order_id          as orderId,
+                           o.user_id           as userId,
+                           o.status            as status,
+                           o.created_at        as createdAt,
+                           oi.book_id          as bookId,
+                           oi.quantity         as quantity,
+                           oi.unit_price_cents as unitPriceCents,
+                           oi.subtotal_cents   as subtotalCents
+                      from order_items oi
+                      join orders o on o.id = oi.order_id
+                     where oi.seller_id = :sellerId
+                       and oi.id < :beforeId
+                     order by oi.id desc
+                     limit :limit
+                    """,
+            nativeQuery = true
+    )
+    List<SellerOrderItemRow> findSellerOrderItemsBefore(@Param("sellerId") Long sellerId,
+                                                        @Param("beforeId") Long beforeId,
+                                                        @Param("limit") int limit);
+
 
     @Query(value = "select count(distinct seller_id) from order_items where order_id = :orderId", nativeQuery = true)
     long countDistinctSellersByOrderId(@Param("orderId") Long orderId);
@@ -1,12 +1,18 @@
 package com.example.bookstore.order;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    // 커서 모드(키셋): count 쿼리 없이 id < cursor 로 seek
+    List<Order> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+    List<Order> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Limit limit);
     Optional<Order> findByIdAndUserId(Long id, Long userId);
 }
@@ -1,35 +1,53 @@
 package com.example.bookstore.order;
 
 import com.example.bookstore.book.BookRepository;
+import com.example.bookstore.book.StockReservationService;
 import com.example.bookstore.cart.CartItem;
 import com.example.bookstore.cart.CartService;
 import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.CursorSlice;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.common.KeysetCursor;
 import com.example.bookstore.order.dto.OrderDtos.*;
+import com.example.bookstore.stats.SalesRollupService;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    static final String ORDER_CURSOR_SORT = "id,DESC";
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final BookRepository bookRepository;
     private final CartService cartService;
+    private final StockReservationService stockReservationService;
+    private final SalesRollupService salesRollupService;
 
     public OrderService(OrderRepository orderRepository,
                         OrderItemRepository orderItemRepository,
                         BookRepository bookRepository,
-                        CartService cartService) {
+                        CartService cartService,
+                        StockReservationService stockReservationService,
+                        SalesRollupService salesRollupService) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.bookRepository = bookRepository;
         this.cartService = cartService;
+        this.stockReservationService = stockReservationService;
+        this.salesRollupService = salesRollupService;
     }
 
     @Transactional
@@ -38,11 +56,17 @@ public class OrderService {
             throw new ApiException(ErrorCode.VALIDATION_FAILED, "items는 비어 있을 수 없습니다.");
         }
 
-        // 1) 재고 차감(낙관적: update where stock>=qty)
+        // 1) 재고 차감: book_id 오름차순 합산 수량을 한 번의 batch 로 (update where stock>=qty)
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
         for (CreateItem it : items) {
-            int updated = bookRepository.decreaseStockIfEnough(it.book_id(), it.quantity());
-            if (updated == 0) throw new ApiException(ErrorCode.VALIDATION_FAILED, "재고가 부족합니다.");
+            quantities.merge(it.book_id(), it.quantity(), Integer::sum);
         }
+        stockReservationService.reserve(quantities);
+
+        // 가격/판매자 스냅샷은 IN 쿼리 1회
+        Map<Long, BookRepository.BookForCartOrder> snapshots = bookRepository.getForCartOrderIn(quantities.keySet())
+                .stream()
+                .collect(Collectors.toMap(BookRepository.BookForCartOrder::getId, Function.identity()));
 
         // 2) 주문 생성
         Order order = new Order();
@@ -53,8 +77,8 @@ public class OrderService {
         List<OrderItem> orderItems = new ArrayList<>();
 
         for (CreateItem it : items) {
-            var snap = bookRepository.getForCartOrder(it.book_id())
-                    .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다."));
+            var snap = snapshots.get(it.book_id());
+            if (snap == null) throw new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다.");
 
             int unit = snap.getPriceCents();
             int subtotal = unit * it.quantity();
@@ -75,7 +99,7 @@ public class OrderService {
         for (OrderItem oi : orderItems) {
             oi.setOrderId(savedOrder.getId());
         }
-        orderItemRepository.saveAll(orderItems);
+        orderItemRepository.batchInsert(orderItems);
 
         return new CreateOrderResponse(savedOrder.getId(), savedOrder.getCreatedAt());
     }
@@ -109,6 +133,22 @@ public class OrderService {
                 .map(o -> new OrderSummaryDto(o.getId(), o.getStatus(), o.getTotalAmountCents(), o.getCreatedAt()));
     }
 
+    /**
+     * 내 주문 목록 - 커서 모드(id DESC seek, count 쿼리 없음)
+     */
+    @Transactional
+    public CursorSlice<OrderSummaryDto> listMyByCursor(Long userId, int limit, String cursor) {
+        Limit fetch = Limit.of(limit + 1);
+        List<Order> rows = KeysetCursor.isFirstPage(cursor)
+                ? orderRepository.findByUserIdOrderByIdDesc(userId, fetch)
+                : orderRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+                        userId, KeysetCursor.decode(cursor, ORDER_CURSOR_SORT).id(), fetch);
+
+        return CursorSlice.of(rows, limit,
+                o -> new KeysetCursor(ORDER_CURSOR_SORT, String.valueOf(o.getId()), o.getId()).encode(),
+                o -> new OrderSummaryDto(o.getId(), o.getStatus(), o.getTotalAmountCents(), o.getCreatedAt()));
+    }
+
     @Transactional
     public OrderDetailDto detailMy(Long userId, Long orderId) {
         Order o = orderRepository.findByIdAndUserId(orderId, userId)
@@ -134,15 +174,18 @@ public class OrderService {
             throw new ApiException(ErrorCode.CONFLICT, "pending 상태의 주문만 결제할 수 있습니다.");
         }
         o.setStatus(OrderStatus.paid);
+        salesRollupService.onStatusChange(o.getId(), OrderStatus.pending, OrderStatus.paid);
         return new OrderSummaryDto(o.getId(), o.getStatus(), o.getTotalAmountCents(), o.getCreatedAt());
     }
 
-public AdminPatchStatusResponse adminPatchStatus(Long orderId, OrderStatus newStatus) {
+    @Transactional
+    public AdminPatchStatusResponse adminPatchStatus(Long orderId, OrderStatus newStatus) {
         Order o = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "주문을 찾을 수 없습니다."));
 
         OrderStatus prev = o.getStatus();
         o.setStatus(newStatus);
+        salesRollupService.onStatusChange(o.getId(), prev, newStatus);
 
         return new AdminPatchStatusResponse(o.getId(), prev, o.getStatus(), o.getUpdatedAt());
     }
@@ -3,6 +3,7 @@ package com.example.bookstore.order;
 import com.example.bookstore.common.ApiMeta;
 import com.example.bookstore.common.ApiResponse;
 import com.example.bookstore.common.ItemsPayload;
+import com.example.bookstore.common.KeysetCursor;
 import com.example.bookstore.common.PageableUtil;
 import com.example.bookstore.order.dto.SellerOrderDtos.*;
 import com.example.bookstore.security.UserPrincipal;
@@ -28,10 +29,15 @@ public class SellerOrderController {
             @AuthenticationPrincipal UserPrincipal me,
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
         var pageable = PageableUtil.pageRequest(page, size, limit);
-        Page<SellerOrderItemDto> result = sellerOrderService.list(me.userId(), pageable);
+        if (KeysetCursor.isCursorMode(cursor)) {
+            var slice = sellerOrderService.listByCursor(me, pageable.getPageSize(), cursor);
+            return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(slice.items()), ApiMeta.fromCursor(slice, pageable.getPageSize())));
+        }
+        Page<SellerOrderItemDto> result = sellerOrderService.list(me, pageable);
         return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(result.getContent()), ApiMeta.fromPage(result)));
     }
 
@@ -41,7 +47,7 @@ public class SellerOrderController {
             @AuthenticationPrincipal UserPrincipal me,
             @PathVariable Long orderId
     ) {
-        var status = sellerOrderService.ship(me.userId(), orderId);
+        var status = sellerOrderService.ship(me, orderId);
         return ResponseEntity.ok(ApiResponse.ok("OK", java.util.Map.of("order_id", orderId, "status", status)));
     }
 
@@ -50,6 +56,6 @@ public class SellerOrderController {
             @AuthenticationPrincipal UserPrincipal me,
             @PathVariable Long orderId
     ) {
-        return ResponseEntity.ok(ApiResponse.ok("OK", sellerOrderService.detail(me.userId(), orderId)));
+        return ResponseEntity.ok(ApiResponse.ok("OK", sellerOrderService.detail(me, orderId)));
     }
 }
@@ -1,11 +1,12 @@
 package com.example.bookstore.order;
 
 import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.CursorSlice;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.common.KeysetCursor;
 import com.example.bookstore.order.dto.SellerOrderDtos.*;
-import com.example.bookstore.user.User;
-import com.example.bookstore.user.UserRepository;
-import com.example.bookstore.user.UserRole;
+import com.example.bookstore.security.SellerIdentity;
+import com.example.bookstore.security.UserPrincipal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,38 +17,59 @@ import java.util.List;
 @Service
 public class SellerOrderService {
 
+    private static final String CURSOR_SORT = "order_item_id,DESC";
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final UserRepository userRepository;
+    private final SellerIdentity sellerIdentity;
 
     public SellerOrderService(OrderRepository orderRepository,
                               OrderItemRepository orderItemRepository,
-                              UserRepository userRepository) {
+                              SellerIdentity sellerIdentity) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
-        this.userRepository = userRepository;
+        this.sellerIdentity = sellerIdentity;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SellerOrderItemDto> list(UserPrincipal me, Pageable pageable) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
+
+        return orderItemRepository.findSellerOrderItems(sellerId, pageable).map(this::toItemDto);
     }
 
+    /**
+     * 판매자 주문 아이템 목록 - 커서 모드(order_items.id DESC seek, count 쿼리 없음)
+     */
     @Transactional(readOnly = true)
-    public Page<SellerOrderItemDto> list(Long sellerUserId, Pageable pageable) {
-        Long sellerId = requireSellerId(sellerUserId);
-
-        return orderItemRepository.findSellerOrderItems(sellerId, pageable)
-                .map(row -> new SellerOrderItemDto(
-                        row.getOrderId(),
-                        row.getUserId(),
-                        OrderStatus.valueOf(row.getStatus()),
-                        row.getCreatedAt(),
-                        row.getBookId(),
-                        row.getQuantity(),
-                        row.getUnitPriceCents(),
-                        row.getSubtotalCents()
-                ));
+    public CursorSlice<SellerOrderItemDto> listByCursor(UserPrincipal me, int limit, String cursor) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
+        long beforeId = KeysetCursor.isFirstPage(cursor)
+                ? Long.MAX_VALUE
+                : KeysetCursor.decode(cursor, CURSOR_SORT).id();
+
+        var rows = orderItemRepository.findSellerOrderItemsBefore(sellerId, beforeId, limit + 1);
+        return CursorSlice.of(rows, limit,
+                row -> new KeysetCursor(CURSOR_SORT, String.valueOf(row.getOrderItemId()), row.getOrderItemId()).encode(),
+                this::toItemDto);
+    }
+
+    private SellerOrderItemDto toItemDto(OrderItemRepository.SellerOrderItemRow row) {
+        return new SellerOrderItemDto(
+                row.getOrderId(),
+                row.getUserId(),
+                OrderStatus.valueOf(row.getStatus()),
+                row.getCreatedAt(),
+                row.getBookId(),
+                row.getQuantity(),
+                row.getUnitPriceCents(),
+                row.getSubtotalCents()
+        );
     }
 
     @Transactional(readOnly = true)
-    public SellerOrderDetailDto detail(Long sellerUserId, Long orderId) {
-        Long sellerId = requireSellerId(sellerUserId);
+    public SellerOrderDetailDto detail(UserPrincipal me, Long orderId) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
 
         Order o = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "주문을 찾을 수 없습니다."));
@@ -81,8 +103,8 @@ public class SellerOrderService {
 
     
     @Transactional
-    public OrderStatus ship(Long sellerUserId, Long orderId) {
-        Long sellerId = requireSellerId(sellerUserId);
+    public OrderStatus ship(UserPrincipal me, Long orderId) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
 
         Order o = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "주문을 찾을 수 없습니다."));
@@ -106,14 +128,4 @@ public class SellerOrderService {
         o.setStatus(OrderStatus.shipped);
         return o.getStatus();
     }
-
-private Long requireSellerId(Long sellerUserId) {
-        User me = userRepository.findByIdAndDeletedAtIsNull(sellerUserId)
-                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
-
-        if (me.getRole() != UserRole.seller || me.getSellerId() == null) {
-            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
-        }
-        return me.getSellerId();
-    }
 }
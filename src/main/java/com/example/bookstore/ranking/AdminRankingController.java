@@ -0,0 +1,34 @@
+package com.example.bookstore.ranking;
+
+import com.example.bookstore.common.ApiResponse;
+import com.example.bookstore.ranking.dto.RankingDtos.ComputeResultDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/rankings")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRankingController {
+
+    private final BookRankingEngine rankingEngine;
+
+    public AdminRankingController(BookRankingEngine rankingEngine) {
+        this.rankingEngine = rankingEngine;
+    }
+
+    // POST /api/admin/rankings/compute?date=2025-01-01 (해당 날짜 재계산)
+    @PostMapping("/compute")
+    public ResponseEntity<ApiResponse<ComputeResultDto>> compute(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        rankingEngine.compute(date).forEach((metric, n) -> rows.put(metric.name(), n));
+        return ResponseEntity.ok(ApiResponse.ok("랭킹 계산 완료", new ComputeResultDto(date, rows)));
+    }
+}
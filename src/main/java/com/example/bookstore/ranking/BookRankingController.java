@@ -0,0 +1,41 @@
+package com.example.bookstore.ranking;
+
+import com.example.bookstore.common.ApiResponse;
+import com.example.bookstore.ranking.dto.RankingDtos.BookRankingsPayload;
+import com.example.bookstore.ranking.dto.RankingDtos.TrendingPayload;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/books/rankings")
+public class BookRankingController {
+
+    private final BookRankingService rankingService;
+
+    public BookRankingController(BookRankingService rankingService) {
+        this.rankingService = rankingService;
+    }
+
+    // GET /api/books/rankings?metric=sales&dimension=category&value=3&date=2025-01-01&limit=10
+    @GetMapping
+    public ResponseEntity<ApiResponse<BookRankingsPayload>> rankings(
+            @RequestParam(required = false, defaultValue = "sales") String metric,
+            @RequestParam(required = false, defaultValue = "global") String dimension,
+            @RequestParam(required = false) String value,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false, defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok("OK", rankingService.rankings(metric, dimension, value, date, limit)));
+    }
+
+    // GET /api/books/rankings/trending?limit=10 (최근 윈도우 조회/장바구니 담기 기준, 근사값)
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<TrendingPayload>> trending(
+            @RequestParam(required = false, defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok("OK", rankingService.trending(limit)));
+    }
+}
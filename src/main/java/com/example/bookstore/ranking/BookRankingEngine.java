@@ -0,0 +1,154 @@
+package com.example.bookstore.ranking;
+
+import com.example.bookstore.common.JdbcStreaming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 일별 도서 랭킹 계산 → book_rankings.
+ * - 지표(metric)별로 하루치 (book_id, count) 집계를 스트리밍으로 읽고
+ *   차원(global / category / seller) 값마다 크기 N 의 min-heap 에 흘려 상위 N 개만 유지
+ * - 결과는 (date, metric) 단위로 한 트랜잭션에서 지우고 batch insert (재계산해도 멱등)
+ * → 조회는 idx_book_rankings_lookup 인덱스 범위 조회
+ */
+@Component
+public class BookRankingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BookRankingEngine.class);
+
+    static final int INSERT_BATCH = 1000;
+
+    /** 지표별 하루치 도서 집계 (파라미터: 시작, 끝) */
+    private static final Map<RankingMetric, String> DAILY_COUNT_SQL = Map.of(
+            RankingMetric.sales, """
+                    select oi.book_id as book_id, sum(oi.quantity) as cnt
+                      from order_items oi
+                      join orders o on o.id = oi.order_id
+                     where o.created_at >= ? and o.created_at < ?
+                       and o.status in ('paid','shipped','delivered')
+                     group by oi.book_id
+                    """,
+            RankingMetric.views, """
+                    select v.book_id as book_id, count(*) as cnt
+                      from book_views v
+                     where v.occurred_at >= ? and v.occurred_at < ?
+                     group by v.book_id
+                    """,
+            RankingMetric.wishlist_adds, """
+                    select w.book_id as book_id, count(*) as cnt
+                      from wishlist_events w
+                     where w.occurred_at >= ? and w.occurred_at < ?
+                       and w.action = 'add'
+                     group by w.book_id
+                    """,
+            RankingMetric.cart_adds, """
+                    select c.book_id as book_id, count(*) as cnt
+                      from cart_events c
+                     where c.occurred_at >= ? and c.occurred_at < ?
+                       and c.action = 'add'
+                     group by c.book_id
+                    """
+    );
+
+    private static final String INSERT_SQL = """
+            insert into book_rankings (date, metric, dimension, dimension_value, book_id, `rank`, `count`)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private record HeapKey(RankingDimension dimension, String value) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int topN;
+
+    public BookRankingEngine(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.rankings.top-n:100}") int topN) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.topN = Math.max(1, topN);
+    }
+
+    /** 전날 랭킹 계산 */
+    @Scheduled(cron = "${app.rankings.cron:0 20 0 * * *}")
+    public void computeYesterday() {
+        try {
+            LocalDate today = jdbcTemplate.queryForObject("select current_date", Date.class).toLocalDate();
+            compute(today.minusDays(1));
+        } catch (Exception e) {
+            log.warn("book_rankings_compute_failed reason={}", e.getMessage());
+        }
+    }
+
+    /** 하루치 전 지표 계산. 지표별 저장 행 수 */
+    public Map<RankingMetric, Integer> compute(LocalDate date) {
+        Map<RankingMetric, Integer> written = new EnumMap<>(RankingMetric.class);
+        for (RankingMetric metric : RankingMetric.values()) {
+            if (!DAILY_COUNT_SQL.containsKey(metric)) continue;
+            written.put(metric, compute(date, metric));
+        }
+        log.info("book_rankings_computed date={} rows={}", date, written);
+        return written;
+    }
+
+    int compute(LocalDate date, RankingMetric metric) {
+        List<Object> range = List.of(Date.valueOf(date), Date.valueOf(date.plusDays(1)));
+        String counts = DAILY_COUNT_SQL.get(metric);
+        Map<HeapKey, TopN> heaps = new HashMap<>();
+
+        // global / seller: 도서당 한 행
+        JdbcStreaming.query(jdbcTemplate, """
+                select x.book_id as book_id, x.cnt as cnt, b.seller_id as seller_id
+                  from (%s) x
+                  join books b on b.id = x.book_id
+                 where b.deleted_at is null
+                """.formatted(counts), range, rs -> {
+            long bookId = rs.getLong("book_id");
+            long cnt = rs.getLong("cnt");
+            offer(heaps, RankingDimension.global, null, bookId, cnt);
+            offer(heaps, RankingDimension.seller, String.valueOf(rs.getLong("seller_id")), bookId, cnt);
+        });
+
+        // category: 도서 × 카테고리
+        JdbcStreaming.query(jdbcTemplate, """
+                select x.book_id as book_id, x.cnt as cnt, bc.category_id as category_id
+                  from (%s) x
+                  join books b on b.id = x.book_id
+                  join book_categories bc on bc.book_id = x.book_id
+                 where b.deleted_at is null
+                """.formatted(counts), range, rs -> offer(heaps, RankingDimension.category,
+                String.valueOf(rs.getLong("category_id")), rs.getLong("book_id"), rs.getLong("cnt")));
+
+        List<Object[]> rows = new ArrayList<>();
+        Date day = Date.valueOf(date);
+        heaps.forEach((key, top) -> {
+            int rank = 0;
+            for (TopN.Entry e : top.ranked()) {
+                rows.add(new Object[]{day, metric.name(), key.dimension().name(), key.value(),
+                        e.bookId(), ++rank, (int) Math.min(e.count(), Integer.MAX_VALUE)});
+            }
+        });
+
+        tx.executeWithoutResult(s -> {
+            jdbcTemplate.update("delete from book_rankings where date = ? and metric = ?", day, metric.name());
+            for (int from = 0; from < rows.size(); from += INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(from, Math.min(from + INSERT_BATCH, rows.size())));
+            }
+        });
+        return rows.size();
+    }
+
+    private void offer(Map<HeapKey, TopN> heaps, RankingDimension dimension, String value, long bookId, long count) {
+        heaps.computeIfAbsent(new HeapKey(dimension, value), k -> new TopN(topN)).offer(bookId, count);
+    }
+}
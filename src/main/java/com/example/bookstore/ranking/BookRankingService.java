@@ -0,0 +1,112 @@
+package com.example.bookstore.ranking;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.ranking.dto.RankingDtos.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * book_rankings 조회 (계산은 BookRankingEngine).
+ * date 미지정 시 해당 지표/차원의 가장 최근 날짜.
+ * 실시간 트렌딩은 TrendingTracker 메모리 값 + 도서 정보 조회.
+ */
+@Service
+public class BookRankingService {
+
+    static final int MAX_LIMIT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TrendingTracker trendingTracker;
+
+    public BookRankingService(JdbcTemplate jdbcTemplate, TrendingTracker trendingTracker) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.trendingTracker = trendingTracker;
+    }
+
+    public TrendingPayload trending(int limit) {
+        List<TopN.Entry> top = trendingTracker.top(Math.min(Math.max(limit, 1), MAX_LIMIT));
+        if (top.isEmpty()) return new TrendingPayload(List.of());
+
+        Map<Long, Object[]> books = new HashMap<>();
+        namedJdbc.query(
+                "select id, title, price_cents from books where id in (:ids) and deleted_at is null",
+                new MapSqlParameterSource("ids", top.stream().map(TopN.Entry::bookId).toList()),
+                (RowCallbackHandler) rs -> books.put(rs.getLong("id"),
+                        new Object[]{rs.getString("title"), rs.getInt("price_cents")}));
+
+        List<TrendingBookDto> items = new ArrayList<>(top.size());
+        for (TopN.Entry e : top) {
+            Object[] b = books.get(e.bookId());
+            if (b == null) continue; // 삭제된 도서
+            items.add(new TrendingBookDto(items.size() + 1, e.bookId(), (String) b[0], (Integer) b[1], e.count()));
+        }
+        return new TrendingPayload(items);
+    }
+
+    public BookRankingsPayload rankings(String metricParam, String dimensionParam, String value, LocalDate date, int limit) {
+        RankingMetric metric = parse(RankingMetric.class, "metric", metricParam);
+        RankingDimension dimension = parse(RankingDimension.class, "dimension", dimensionParam);
+        String dimensionValue = dimension == RankingDimension.global ? null : value;
+        if (dimension != RankingDimension.global && (value == null || value.isBlank())) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "value 는 필수입니다.", Map.of("dimension", dimension.name()));
+        }
+        int l = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        LocalDate d = date != null ? date : latestDate(metric, dimension);
+        if (d == null) {
+            return new BookRankingsPayload(null, metric.name(), dimension.name(), dimensionValue, List.of());
+        }
+
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(d), metric.name(), dimension.name()));
+        String valueCond = "r.dimension_value is null";
+        if (dimensionValue != null) {
+            valueCond = "r.dimension_value = ?";
+            args.add(dimensionValue);
+        }
+        args.add(l);
+
+        List<BookRankingDto> items = jdbcTemplate.query(
+                """
+                select r.`rank` as rnk, r.book_id, b.title, b.price_cents, r.`count` as cnt
+                  from book_rankings r
+                  join books b on b.id = r.book_id
+                 where r.date = ? and r.metric = ? and r.dimension = ? and %s
+                 order by r.`rank` asc
+                 limit ?
+                """.formatted(valueCond),
+                (rs, i) -> new BookRankingDto(rs.getInt("rnk"), rs.getLong("book_id"), rs.getString("title"),
+                        rs.getInt("price_cents"), rs.getInt("cnt")),
+                args.toArray()
+        );
+        return new BookRankingsPayload(d, metric.name(), dimension.name(), dimensionValue, items);
+    }
+
+    private LocalDate latestDate(RankingMetric metric, RankingDimension dimension) {
+        Date d = jdbcTemplate.queryForObject(
+                "select max(date) from book_rankings where metric = ? and dimension = ?",
+                Date.class, metric.name(), dimension.name());
+        return d == null ? null : d.toLocalDate();
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name, String raw) {
+        try {
+            return Enum.valueOf(type, raw.trim().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, name + " 값이 올바르지 않습니다.", Map.of(name, raw));
+        }
+    }
+}
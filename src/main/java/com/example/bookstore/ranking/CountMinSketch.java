@@ -0,0 +1,65 @@
+package com.example.bookstore.ranking;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch (long 키). 고정 메모리(depth × width)로 빈도를 과대 추정(절대 과소 추정하지 않음).
+ * 오차: 확률 1 - (1/2)^depth 이상으로 estimate ≤ 실제값 + 총합 × (e / width).
+ * 스레드 안전하지 않음 (호출측에서 동기화).
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long[][] table;
+    private final long[] seeds;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 2) throw new IllegalArgumentException("depth >= 1, width >= 2");
+        int w = Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.mask = w - 1;
+        this.table = new long[depth][w];
+        this.seeds = new long[depth];
+        for (int i = 0; i < depth; i++) seeds[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+    }
+
+    public void add(long key, long count) {
+        for (int i = 0; i < depth; i++) {
+            table[i][index(i, key)] += count;
+        }
+    }
+
+    public long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table[i][index(i, key)]);
+        }
+        return min;
+    }
+
+    /** 같은 크기의 sketch 를 칸 단위로 뺀다 (슬라이딩 윈도우에서 만료 구간 제거용) */
+    public void subtract(CountMinSketch other) {
+        if (other.depth != depth || other.mask != mask) throw new IllegalArgumentException("sketch size mismatch");
+        for (int i = 0; i < depth; i++) {
+            long[] row = table[i];
+            long[] o = other.table[i];
+            for (int j = 0; j < row.length; j++) row[j] -= o[j];
+        }
+    }
+
+    public void clear() {
+        for (long[] row : table) Arrays.fill(row, 0L);
+    }
+
+    private int index(int row, long key) {
+        return (int) (mix(key ^ seeds[row]) & mask);
+    }
+
+    /** splitmix64 finalizer */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
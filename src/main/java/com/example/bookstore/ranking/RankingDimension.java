@@ -0,0 +1,8 @@
+package com.example.bookstore.ranking;
+
+/**
+ * book_rankings.dimension (global 은 dimension_value = NULL)
+ */
+public enum RankingDimension {
+    global, category, seller
+}
@@ -0,0 +1,9 @@
+package com.example.bookstore.ranking;
+
+/**
+ * book_rankings.metric (소문자 그대로 저장)
+ * - trending 은 일별 계산이 아니라 TrendingTracker 가 윈도우 경계마다 그날 스냅샷을 덮어씀
+ */
+public enum RankingMetric {
+    sales, views, wishlist_adds, cart_adds, trending
+}
@@ -0,0 +1,99 @@
+package com.example.bookstore.ranking;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving heavy hitters: 최대 capacity 개 키만 추적.
+ * 가득 찬 상태에서 새 키가 오면 가장 작은 카운터를 빼앗아 (min + n) 으로 이어받음
+ * → 빈도가 총합 / capacity 를 넘는 키는 반드시 남는다.
+ * 카운터는 키 → 힙 위치 인덱스를 가진 min-heap 으로 유지 (가중치가 임의라 stream-summary 버킷 대신)
+ * → 증가/교체 모두 O(log capacity), 최소값 조회는 O(1).
+ * 스레드 안전하지 않음 (호출측에서 동기화).
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final long[] heapKeys;
+    private final long[] heapCounts;
+    private final Map<Long, Integer> positions;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.heapKeys = new long[this.capacity];
+        this.heapCounts = new long[this.capacity];
+        this.positions = new HashMap<>(this.capacity * 2);
+    }
+
+    public void offer(long key, long n) {
+        Integer pos = positions.get(key);
+        if (pos != null) {
+            heapCounts[pos] += n;
+            siftDown(pos);
+            return;
+        }
+        if (size < capacity) {
+            heapKeys[size] = key;
+            heapCounts[size] = n;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+
+        // 루트(최소 카운터)를 새 키가 이어받음
+        positions.remove(heapKeys[0]);
+        heapKeys[0] = key;
+        heapCounts[0] += n;
+        positions.put(key, 0);
+        siftDown(0);
+    }
+
+    /** 현재 후보 키 */
+    public Set<Long> keys() {
+        return Collections.unmodifiableSet(positions.keySet());
+    }
+
+    public long count(long key) {
+        Integer pos = positions.get(key);
+        return pos == null ? 0 : heapCounts[pos];
+    }
+
+    public void clear() {
+        positions.clear();
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapCounts[parent] <= heapCounts[i]) return;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) return;
+            int smallest = left + 1 < size && heapCounts[left + 1] < heapCounts[left] ? left + 1 : left;
+            if (heapCounts[i] <= heapCounts[smallest]) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long k = heapKeys[a];
+        long c = heapCounts[a];
+        heapKeys[a] = heapKeys[b];
+        heapCounts[a] = heapCounts[b];
+        heapKeys[b] = k;
+        heapCounts[b] = c;
+        positions.put(heapKeys[a], a);
+        positions.put(heapKeys[b], b);
+    }
+}
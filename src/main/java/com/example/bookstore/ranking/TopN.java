@@ -0,0 +1,45 @@
+package com.example.bookstore.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 크기 N 의 min-heap 으로 (bookId, count) 스트림의 상위 N 개를 유지.
+ * 정렬: count 내림차순, 동률이면 bookId 오름차순.
+ */
+public class TopN {
+
+    public record Entry(long bookId, long count) {}
+
+    /** 결과 순서 (1등이 먼저) */
+    static final Comparator<Entry> RANK_ORDER =
+            Comparator.comparingLong(Entry::count).reversed().thenComparingLong(Entry::bookId);
+
+    private final int n;
+    // 힙의 루트 = 현재 N 개 중 가장 순위가 낮은 항목
+    private final PriorityQueue<Entry> heap;
+
+    public TopN(int n) {
+        this.n = n;
+        this.heap = new PriorityQueue<>(n + 1, RANK_ORDER.reversed());
+    }
+
+    public void offer(long bookId, long count) {
+        Entry e = new Entry(bookId, count);
+        if (heap.size() < n) {
+            heap.add(e);
+        } else if (RANK_ORDER.compare(e, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(e);
+        }
+    }
+
+    /** 1등부터 정렬된 목록 */
+    public List<Entry> ranked() {
+        List<Entry> out = new ArrayList<>(heap);
+        out.sort(RANK_ORDER);
+        return out;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.bookstore.ranking;
+
+import com.example.bookstore.activity.ActivityEventListener;
+import com.example.bookstore.activity.ActivityEventPipeline.Event;
+import com.example.bookstore.activity.ActivityEventPipeline.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "지금 뜨는 도서" 실시간 근사 집계 (메모리 고정, 요청당 DB 쓰기 없음).
+ * - 도서 조회(가중치 1)와 장바구니 담기(가중치 cart-add-weight)를 이벤트 파이프라인에서 받음
+ * - 슬라이딩 윈도우 = bucket-seconds × buckets. 버킷마다 Count-Min Sketch + Space-Saving 후보
+ *   윈도우 합계 sketch 는 버킷이 만료될 때 그 버킷 값을 빼서 유지 → 추정 O(depth)
+ * - 상위 K = 윈도우 내 버킷 후보들의 합집합을 윈도우 sketch 추정치로 정렬
+ * - 윈도우 경계(버킷 한 바퀴)마다 book_rankings(metric=trending, global, 오늘 날짜)에 스냅샷 저장
+ */
+@Component
+public class TrendingTracker implements ActivityEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingTracker.class);
+
+    static final int SKETCH_DEPTH = 4;
+    static final int SKETCH_WIDTH = 2048;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final int topK;
+    private final int cartAddWeight;
+
+    private final CountMinSketch window;
+    private final CountMinSketch[] bucketSketches;
+    private final SpaceSaving[] bucketCandidates;
+    private int current = 0;
+    private int rotations = 0;
+
+    public TrendingTracker(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.trending.buckets:12}") int buckets,
+                           @Value("${app.trending.top-k:50}") int topK,
+                           @Value("${app.trending.cart-add-weight:3}") int cartAddWeight) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.topK = Math.max(1, topK);
+        this.cartAddWeight = Math.max(1, cartAddWeight);
+
+        int n = Math.max(1, buckets);
+        this.window = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        this.bucketSketches = new CountMinSketch[n];
+        this.bucketCandidates = new SpaceSaving[n];
+        for (int i = 0; i < n; i++) {
+            bucketSketches[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+            bucketCandidates[i] = new SpaceSaving(this.topK * 4);
+        }
+    }
+
+    @Override
+    public void onEvents(List<Event> events) {
+        synchronized (this) {
+            for (Event e : events) {
+                if (e.kind() == Kind.book_view) {
+                    add(e.bookId(), 1);
+                } else if (e.kind() == Kind.cart && "add".equals(e.action())) {
+                    add(e.bookId(), cartAddWeight);
+                }
+            }
+        }
+    }
+
+    private void add(long bookId, long weight) {
+        window.add(bookId, weight);
+        bucketSketches[current].add(bookId, weight);
+        bucketCandidates[current].offer(bookId, weight);
+    }
+
+    /** 현재 윈도우 상위 limit 개 (score = 가중 추정치) */
+    public synchronized List<TopN.Entry> top(int limit) {
+        Set<Long> candidates = new HashSet<>();
+        for (SpaceSaving ss : bucketCandidates) candidates.addAll(ss.keys());
+
+        TopN top = new TopN(Math.max(1, Math.min(limit, topK)));
+        for (Long bookId : candidates) {
+            long est = window.estimate(bookId);
+            if (est > 0) top.offer(bookId, est);
+        }
+        return top.ranked();
+    }
+
+    /** 가장 오래된 버킷을 윈도우에서 빼고 비워 새 버킷으로 사용 */
+    @Scheduled(fixedRateString = "${app.trending.bucket-seconds:300}",
+            initialDelayString = "${app.trending.bucket-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        boolean boundary;
+        synchronized (this) {
+            current = (current + 1) % bucketSketches.length;
+            window.subtract(bucketSketches[current]);
+            bucketSketches[current].clear();
+            bucketCandidates[current].clear();
+            rotations++;
+            boundary = rotations % bucketSketches.length == 0;
+        }
+        if (boundary) persist();
+    }
+
+    private void persist() {
+        List<TopN.Entry> top = top(topK);
+        try {
+            tx.executeWithoutResult(s -> {
+                Date today = jdbcTemplate.queryForObject("select current_date", Date.class);
+                jdbcTemplate.update("delete from book_rankings where date = ? and metric = ?", today, RankingMetric.trending.name());
+                List<Object[]> rows = new ArrayList<>(top.size());
+                int rank = 0;
+                for (TopN.Entry e : top) {
+                    rows.add(new Object[]{today, RankingMetric.trending.name(), RankingDimension.global.name(), null,
+                            e.bookId(), ++rank, (int) Math.min(e.count(), Integer.MAX_VALUE)});
+                }
+                jdbcTemplate.batchUpdate("""
+                        insert into book_rankings (date, metric, dimension, dimension_value, book_id, `rank`, `count`)
+                        values (?, ?, ?, ?, ?, ?, ?)
+                        """, rows);
+            });
+        } catch (Exception ex) {
+            log.warn("trending_persist_failed reason={}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bookstore.ranking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class RankingDtos {
+
+    public record BookRankingDto(Integer rank, Long book_id, String title, Integer price_cents, Integer count) {}
+
+    public record BookRankingsPayload(LocalDate date, String metric, String dimension, String dimension_value,
+                                      List<BookRankingDto> items) {}
+
+    public record TrendingBookDto(Integer rank, Long book_id, String title, Integer price_cents, Long score) {}
+
+    public record TrendingPayload(List<TrendingBookDto> items) {}
+
+    public record ComputeResultDto(LocalDate date, Map<String, Integer> rows) {}
+}
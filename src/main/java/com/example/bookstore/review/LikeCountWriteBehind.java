@@ -0,0 +1,116 @@
+package com.example.bookstore.review;
+
+import com.example.bookstore.common.TransactionCallbacks;
+import com.example.bookstore.common.WriteBehindCounter;
+import com.example.bookstore.config.CacheConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리뷰/댓글 좋아요 수 write-behind.
+ * - like/unlike 는 review_likes/comment_likes 행만 쓰고, like_count 증감은 커밋 이후 메모리에 누적
+ * - 짧은 주기로 "like_count = like_count + ?" 배치 update (행 잠금 경합/lost update 제거)
+ * - 응답의 like_count 는 DB 값 + 미반영분(pending)으로 계산
+ */
+@Component
+public class LikeCountWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeCountWriteBehind.class);
+
+    private static final String REVIEW_SQL =
+            "update reviews set like_count = greatest(like_count + ?, 0) where id = ?";
+    private static final String COMMENT_SQL =
+            "update comments set like_count = greatest(like_count + ?, 0) where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final CacheManager cacheManager;
+
+    private final WriteBehindCounter reviews = new WriteBehindCounter();
+    private final WriteBehindCounter comments = new WriteBehindCounter();
+
+    public LikeCountWriteBehind(JdbcTemplate jdbcTemplate, CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.cacheManager = cacheManager;
+    }
+
+    public void addReviewAfterCommit(Long reviewId, int delta) {
+        TransactionCallbacks.afterCommit(() -> reviews.add(reviewId, delta));
+    }
+
+    public void addCommentAfterCommit(Long commentId, int delta) {
+        TransactionCallbacks.afterCommit(() -> comments.add(commentId, delta));
+    }
+
+    public long pendingReview(Long reviewId) {
+        return reviews.pending(reviewId);
+    }
+
+    public long pendingComment(Long commentId) {
+        return comments.pending(commentId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.likes.flush-interval-ms:500}")
+    public void flush() {
+        Map<Long, Long> reviewDeltas = flush(reviews, REVIEW_SQL, "reviews");
+        if (!reviewDeltas.isEmpty()) {
+            evictTopReviews(reviewDeltas);
+        }
+        flush(comments, COMMENT_SQL, "comments");
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<Long, Long> flush(WriteBehindCounter counter, String sql, String table) {
+        if (counter.isEmpty()) return Map.of();
+
+        Map<Long, Long> deltas = counter.drain();
+        if (deltas.isEmpty()) {
+            counter.complete();
+            return deltas;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, d) -> args.add(new Object[]{d, id}));
+        try {
+            jdbcTemplate.batchUpdate(sql, args);
+            counter.complete();
+            return deltas;
+        } catch (Exception e) {
+            counter.restore(deltas);
+            log.warn("like_count_flush_failed table={} rows={} reason={}", table, deltas.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /** topReviews 는 like_count 순 → 카운트가 실제로 바뀐 도서만 무효화 */
+    private void evictTopReviews(Map<Long, Long> reviewDeltas) {
+        Cache cache = cacheManager.getCache(CacheConfig.TOP_REVIEWS);
+        if (cache == null) return;
+        try {
+            List<Long> bookIds = namedJdbc.queryForList(
+                    "select distinct book_id from reviews where id in (:ids)",
+                    new MapSqlParameterSource("ids", reviewDeltas.keySet()),
+                    Long.class);
+            bookIds.forEach(cache::evict);
+        } catch (Exception e) {
+            log.warn("top_reviews_evict_failed reason={}", e.getMessage());
+        }
+    }
+}
@@ -23,7 +23,8 @@ public class Review {
     @Column(nullable=false, columnDefinition = "text")
     private String body;
 
-    @Column(name="like_count", nullable=false)
+    // 좋아요 수는 write-behind 의 delta update 로만 갱신 (엔티티 저장이 덮어쓰지 않도록 updatable=false)
+    @Column(name="like_count", nullable=false, updatable=false)
     private Integer likeCount = 0;
 
     @Column(name="created_at")
@@ -5,10 +5,13 @@ import com.example.bookstore.comment.CommentLikeRepository;
 import com.example.bookstore.comment.CommentRepository;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.common.TransactionCallbacks;
+import com.example.bookstore.config.CacheConfig;
 import com.example.bookstore.review.dto.ReviewDtos.*;
 import jakarta.transaction.Transactional;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,28 +22,39 @@ import java.util.*;
 @Service
 public class ReviewService {
 
+    /** topReviews 캐시는 도서당 상위 N개를 한 번만 담고 limit 은 잘라서 응답 */
+    static final int TOP_REVIEWS_MAX = 20;
+
     private final ReviewRepository reviewRepository;
     private final ReviewLikeRepository reviewLikeRepository;
     private final CommentRepository commentRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final BookRepository bookRepository;
+    private final CacheManager cacheManager;
+    private final LikeCountWriteBehind likeCounts;
+    private final boolean incrementalRatingStats;
 
     public ReviewService(
             ReviewRepository reviewRepository,
             ReviewLikeRepository reviewLikeRepository,
             CommentRepository commentRepository,
             CommentLikeRepository commentLikeRepository,
-            BookRepository bookRepository
+            BookRepository bookRepository,
+            CacheManager cacheManager,
+            LikeCountWriteBehind likeCounts,
+            @Value("${app.ratings.stats-mode:incremental}") String ratingStatsMode
     ) {
         this.reviewRepository = reviewRepository;
         this.reviewLikeRepository = reviewLikeRepository;
         this.commentRepository = commentRepository;
         this.commentLikeRepository = commentLikeRepository;
         this.bookRepository = bookRepository;
+        this.cacheManager = cacheManager;
+        this.likeCounts = likeCounts;
+        this.incrementalRatingStats = !"recompute".equalsIgnoreCase(ratingStatsMode);
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "topReviews", allEntries = true)
     public ReviewDto create(Long userId, Long bookId, CreateReviewRequest req) {
         bookRepository.findByIdAndDeletedAtIsNull(bookId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다."));
@@ -58,7 +72,8 @@ public class ReviewService {
 
         try {
             Review saved = reviewRepository.save(r);
-            refreshBookRatingStats(bookId);
+            applyRatingChange(bookId, 1, saved.getRating());
+            evictTopReviews(bookId);
             return toDto(saved, false);
         } catch (DataIntegrityViolationException e) {
             throw new ApiException(ErrorCode.CONFLICT, "이미 해당 도서에 리뷰를 작성했습니다.");
@@ -89,7 +104,6 @@ public class ReviewService {
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "topReviews", allEntries = true)
     public ReviewDto patch(Long userId, Long reviewId, PatchReviewRequest req) {
         Review r = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리뷰를 찾을 수 없습니다."));
@@ -98,16 +112,17 @@ public class ReviewService {
             throw new ApiException(ErrorCode.FORBIDDEN, "작성자만 수정할 수 있습니다.");
         }
 
+        int oldRating = r.getRating();
         r.setRating(req.rating());
         r.setBody(req.body());
         Review saved = reviewRepository.save(r);
 
-        refreshBookRatingStats(saved.getBookId());
+        applyRatingChange(saved.getBookId(), 0, saved.getRating() - oldRating);
+        evictTopReviews(saved.getBookId());
         return toDto(saved, false);
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "topReviews", allEntries = true)
     public void delete(Long userId, boolean isAdmin, Long reviewId) {
         Review r = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리뷰를 찾을 수 없습니다."));
@@ -126,17 +141,17 @@ public class ReviewService {
         reviewLikeRepository.deleteByReviewId(reviewId);
         reviewRepository.delete(r);
 
-        refreshBookRatingStats(r.getBookId());
+        applyRatingChange(r.getBookId(), -1, -r.getRating());
+        evictTopReviews(r.getBookId());
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "topReviews", allEntries = true)
     public LikePayload like(Long userId, Long reviewId) {
         Review r = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리뷰를 찾을 수 없습니다."));
 
         if (reviewLikeRepository.existsByUserIdAndReviewId(userId, reviewId)) {
-            return new LikePayload(true, r.getLikeCount());
+            return new LikePayload(true, currentLikeCount(r, 0));
         }
 
         ReviewLike like = new ReviewLike();
@@ -145,40 +160,36 @@ public class ReviewService {
 
         try {
             reviewLikeRepository.save(like);
-            r.setLikeCount(r.getLikeCount() + 1);
-            reviewRepository.save(r);
         } catch (DataIntegrityViolationException e) {
             // 동시성으로 이미 생겼을 수 있음 → 카운트는 올리지 않음
+            return new LikePayload(true, currentLikeCount(r, 0));
         }
 
-        return new LikePayload(true, r.getLikeCount());
+        // like_count 는 커밋 이후 write-behind 로 반영
+        likeCounts.addReviewAfterCommit(reviewId, 1);
+        return new LikePayload(true, currentLikeCount(r, 1));
     }
 
     @Transactional
-    @CacheEvict(cacheNames = "topReviews", allEntries = true)
     public LikePayload unlike(Long userId, Long reviewId) {
         Review r = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리뷰를 찾을 수 없습니다."));
 
         var existing = reviewLikeRepository.findByUserIdAndReviewId(userId, reviewId);
         if (existing.isEmpty()) {
-            return new LikePayload(false, r.getLikeCount());
+            return new LikePayload(false, currentLikeCount(r, 0));
         }
 
         reviewLikeRepository.delete(existing.get());
-        r.setLikeCount(Math.max(0, r.getLikeCount() - 1));
-        reviewRepository.save(r);
-        return new LikePayload(false, r.getLikeCount());
+        likeCounts.addReviewAfterCommit(reviewId, -1);
+        return new LikePayload(false, currentLikeCount(r, -1));
     }
 
-    @Cacheable(cacheNames = "topReviews", key = "#bookId + ':' + #limit")
     @Transactional
     public TopReviewsPayload topReviews(Long bookId, int limit) {
-        int l = Math.min(Math.max(limit, 1), 20);
-        var pageable = org.springframework.data.domain.PageRequest.of(0, l);
-        List<Review> list = reviewRepository.findTopByBookId(bookId, pageable);
-        List<ReviewDto> items = list.stream().map(r -> toDto(r, false)).toList();
-        return new TopReviewsPayload(items);
+        int l = Math.min(Math.max(limit, 1), TOP_REVIEWS_MAX);
+        List<ReviewDto> top = topReviewsCache().get(bookId, () -> loadTopReviews(bookId));
+        return new TopReviewsPayload(top.subList(0, Math.min(l, top.size())));
     }
 
     @Transactional
@@ -200,7 +211,43 @@ public class ReviewService {
         );
     }
 
-    private void refreshBookRatingStats(Long bookId) {
-        bookRepository.refreshRatingStats(bookId);
+    /** DB 값 + 아직 flush 되지 않은 증감 + 이번 요청분 */
+    private int currentLikeCount(Review r, int delta) {
+        return (int) Math.max(0, r.getLikeCount() + likeCounts.pendingReview(r.getId()) + delta);
+    }
+
+    /**
+     * 도서 평점 통계 갱신.
+     * - incremental(기본): count/sum delta 만 원자적으로 반영 (리뷰 수와 무관하게 O(1))
+     * - recompute: 기존 방식대로 reviews 전체 재집계
+     * 어긋난 값은 RatingStatsReconciler(ADMIN)로 일괄 복구
+     */
+    private void applyRatingChange(Long bookId, int countDelta, int sumDelta) {
+        if (!incrementalRatingStats) {
+            bookRepository.refreshRatingStats(bookId);
+            return;
+        }
+        if (countDelta == 0 && sumDelta == 0) return;
+        bookRepository.applyRatingDelta(bookId, countDelta, sumDelta);
+    }
+
+    private List<ReviewDto> loadTopReviews(Long bookId) {
+        var pageable = org.springframework.data.domain.PageRequest.of(0, TOP_REVIEWS_MAX);
+        return reviewRepository.findTopByBookId(bookId, pageable).stream()
+                .map(r -> toDto(r, false))
+                .toList();
+    }
+
+    private Cache topReviewsCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.TOP_REVIEWS));
+    }
+
+    /**
+     * 해당 도서의 topReviews 엔트리만 무효화.
+     * 커밋 전에 지우면 동시 조회가 옛 데이터로 다시 채울 수 있으므로 커밋 이후에 evict.
+     */
+    private void evictTopReviews(Long bookId) {
+        Cache cache = topReviewsCache();
+        TransactionCallbacks.afterCommit(() -> cache.evict(bookId));
     }
 }
@@ -0,0 +1,27 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.common.ApiResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ADMIN: 비밀번호 해시 풀 상태 (큐 깊이, 거절/타임아웃 수, 대기·해시 시간).
+ */
+@RestController
+@RequestMapping("/api/admin/password-hasher")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminPasswordHasherController {
+
+    private final PasswordHasher passwordHasher;
+
+    public AdminPasswordHasherController(PasswordHasher passwordHasher) {
+        this.passwordHasher = passwordHasher;
+    }
+
+    // GET /api/admin/password-hasher/stats
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<PasswordHasher.Stats>> stats() {
+        return ResponseEntity.ok(ApiResponse.ok("OK", passwordHasher.stats()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.common.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 비활성화(탈퇴/관리자 비활성)된 사용자 id 캐시.
+ * access token 은 DB 조회 없이 검증되므로, 아직 만료되지 않은 토큰을 막기 위해 사용한다.
+ * - 보관 기간 = access token 유효 시간 (그 이후엔 토큰이 스스로 만료)
+ * - 같은 인스턴스의 비활성화는 커밋 직후 반영, 다른 인스턴스 것은 주기적으로 users.deleted_at 을 조회해 반영
+ *   (idx_users_deleted_at, V15)
+ * - 크기 상한으로 밀려난 id 가 있으면 보관 기간 동안 캐시 miss 를 DB 로 확인 → 비활성 사용자가 다시 통과하지 않게
+ */
+@Component
+public class DeactivatedUserRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DeactivatedUserRegistry.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration window;
+    private final Cache<Long, Boolean> deactivated;
+    // 크기 초과로 id 를 밀어낸 경우 이 시각(epoch ms)까지 캐시 miss 를 DB 로 확인
+    private volatile long overflowUntil;
+
+    public DeactivatedUserRegistry(JdbcTemplate jdbcTemplate, JwtProperties props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.window = Duration.ofMinutes(props.accessExpMinutes() + 1);
+        this.deactivated = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .evictionListener((Long id, Boolean v, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) overflowUntil = System.currentTimeMillis() + window.toMillis();
+                })
+                .build();
+    }
+
+    public boolean isDeactivated(Long userId) {
+        if (userId == null) return false;
+        if (deactivated.getIfPresent(userId) != null) return true;
+        if (System.currentTimeMillis() >= overflowUntil) return false;
+        Integer n = jdbcTemplate.queryForObject(
+                "select count(*) from users where id = ? and deleted_at is not null", Integer.class, userId);
+        return n != null && n > 0;
+    }
+
+    public void markAfterCommit(Long userId) {
+        TransactionCallbacks.afterCommit(() -> deactivated.put(userId, Boolean.TRUE));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.deactivated-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            jdbcTemplate.query("select id from users where deleted_at >= ?",
+                    (RowCallbackHandler) rs -> deactivated.put(rs.getLong("id"), Boolean.TRUE),
+                    Timestamp.from(Instant.now().minus(window)));
+        } catch (Exception e) {
+            log.warn("deactivated_users_refresh_failed reason={}", e.getMessage());
+        }
+    }
+}
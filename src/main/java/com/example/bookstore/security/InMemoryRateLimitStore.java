@@ -0,0 +1,44 @@
+package com.example.bookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * 인스턴스 로컬 레이트리밋 저장소 (키별 TokenBucket).
+ * - 크기 제한 + 버킷 window 동안 안 쓰이면 만료 (안 쓴 버킷은 가득 찬 버킷과 같으므로 버려도 무방)
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public InMemoryRateLimitStore(int maxKeys) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxKeys))
+                .expireAfter(new Expiry<String, TokenBucket>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenBucket b, long currentTime) {
+                        return Duration.ofMillis(b.windowMs()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenBucket b, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, b, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenBucket b, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, b, currentTime);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long capacity, long windowMs, long cost) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, windowMs));
+        return bucket.tryAcquire(System.nanoTime(), cost);
+    }
+}
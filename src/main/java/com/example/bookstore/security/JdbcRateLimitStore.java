@@ -0,0 +1,278 @@
+package com.example.bookstore.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 여러 인스턴스가 공유하는 레이트리밋 저장소 (rate_limit_counters).
+ * - 키별로 epoch 기준 고정 윈도우 사용량(used)과 직전 윈도우 사용량(prev_used)을 두고
+ *   prev_used × (남은 윈도우 비율) + used 로 슬라이딩 윈도우를 근사 → 윈도우 경계 버스트 완화
+ * - 요청 경로는 DB 를 보지 않는다: 마지막 동기화 때 읽은 전체 사용량 + 로컬 미반영분(pending)으로 판단
+ * - sync-interval-ms 마다 그 사이 쓰인 키를 한 번의 multi-row upsert 로 더하고 한 번의 select 로 전체 사용량을 다시 읽음
+ *   → DB 왕복은 요청 수와 무관하게 동기화 주기당 2회 (키 BATCH 개 단위)
+ * - 동기화 전에 윈도우가 바뀌면 미반영분은 원래 windowStart 와 함께 carry 로 남겨 다음 동기화에 보낸다
+ * - 동기화는 전용 스레드에서 실행 (공용 @Scheduled 스레드의 다른 작업에 밀려 주기가 늘어나지 않도록)
+ *
+ * 동기화 주기 동안 인스턴스끼리는 서로의 사용량을 모르므로 한도를 최대 (인스턴스 수 × 주기 동안 요청 수) 만큼 넘길 수 있다.
+ * DB 장애 시에는 로컬 카운트만으로 계속 판단한다 (fail-open).
+ */
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimitStore.class);
+
+    static final int BATCH = 500;
+
+    private static final String UPSERT_HEAD =
+            "insert into rate_limit_counters (k, window_ms, window_start, used, prev_used) values ";
+
+    // MySQL 은 SET 절을 왼쪽부터 평가하므로 prev_used → used → window_start 순서가 중요하다
+    private static final String UPSERT_TAIL = """
+             on duplicate key update
+               prev_used = case when values(window_start) = window_start then prev_used
+                                when values(window_start) + window_ms = window_start then prev_used + values(used)
+                                when values(window_start) = window_start + window_ms then used
+                                when values(window_start) > window_start then 0
+                                else prev_used end,
+               used = case when values(window_start) = window_start then used + values(used)
+                           when values(window_start) > window_start then values(used)
+                           else used end,
+               window_ms = values(window_ms),
+               window_start = greatest(window_start, values(window_start))
+            """;
+
+    /**
+     * 키 하나의 로컬 상태 (global* 은 마지막 동기화 때 읽은 값, pending 은 그 뒤 이 인스턴스가 쓴 양).
+     * carry* 는 DB 에 보내기 전에 지나간 윈도우의 미반영분 (가장 최근 윈도우 하나만, synchronized(this) 로 보호)
+     */
+    static final class Counter {
+        final long capacity;
+        final long windowMs;
+        volatile long windowStart;
+        volatile long globalUsed;
+        volatile long globalPrev;
+        final AtomicLong pending = new AtomicLong();
+        long carryStart = Long.MIN_VALUE;
+        long carryUsed;
+
+        Counter(long capacity, long windowMs, long windowStart) {
+            this.capacity = Math.max(1, capacity);
+            this.windowMs = Math.max(1, windowMs);
+            this.windowStart = windowStart;
+        }
+    }
+
+    private record Synced(long windowStart, long used, long prevUsed) {}
+
+    /** 한 번의 동기화에서 키 하나에 대해 보낸 양 (실패 시 되돌림용) */
+    private record Sent(Counter counter, long carryStart, long carry, long windowStart, long pending) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final Cache<String, Counter> counters;
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService syncer;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, int maxKeys, long syncIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxKeys))
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limit-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1, syncIntervalMs);
+        syncer.scheduleWithFixedDelay(this::syncSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        syncer.shutdownNow();
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long capacity, long windowMs, long cost) {
+        long now = System.currentTimeMillis();
+        Counter c = counters.get(key, k -> new Counter(capacity, windowMs, windowStartOf(now, windowMs)));
+        touched.add(key);
+        return tryAcquire(c, now, cost);
+    }
+
+    static Decision tryAcquire(Counter c, long now, long cost) {
+        roll(c, windowStartOf(now, c.windowMs));
+
+        long elapsed = now - c.windowStart;
+        long resetMs = c.windowMs - elapsed;
+        // 직전 윈도우 사용량은 현재 윈도우가 지나는 비율만큼 줄여서 반영
+        long carried = c.globalPrev * (c.windowMs - elapsed) / c.windowMs;
+        while (true) {
+            long p = c.pending.get();
+            long used = carried + c.globalUsed + p;
+            if (used + cost > c.capacity) {
+                return new Decision(false, Math.max(0, c.capacity - used), Math.max(1, resetMs), resetMs);
+            }
+            if (c.pending.compareAndSet(p, p + cost)) {
+                return new Decision(true, c.capacity - used - cost, 0, resetMs);
+            }
+        }
+    }
+
+    /** 로컬 윈도우가 지났으면 다음 윈도우로 (동기화 전 미반영분은 직전 윈도우 사용량에 더하고 carry 로 남김) */
+    static void roll(Counter c, long windowStart) {
+        if (c.windowStart >= windowStart) return;
+        synchronized (c) {
+            if (c.windowStart >= windowStart) return;
+            long unsynced = c.pending.getAndSet(0);
+            carry(c, c.windowStart, unsynced);
+            long total = c.globalUsed + unsynced;
+            c.globalPrev = windowStart == c.windowStart + c.windowMs ? total : 0;
+            c.globalUsed = 0;
+            c.windowStart = windowStart;
+        }
+    }
+
+    /**
+     * 지나간 windowStart 윈도우의 미반영분 보관 (synchronized(c) 안에서 호출).
+     * 가장 최근 윈도우 하나만 유지: 더 오래된 윈도우는 슬라이딩 근사에 쓰이지 않는다.
+     */
+    private static void carry(Counter c, long windowStart, long n) {
+        if (n <= 0) return;
+        if (c.carryStart == windowStart) {
+            c.carryUsed += n;
+        } else if (windowStart > c.carryStart) {
+            c.carryStart = windowStart;
+            c.carryUsed = n;
+        }
+    }
+
+    static long windowStartOf(long now, long windowMs) {
+        return now - Math.floorMod(now, windowMs);
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (Exception e) {
+            log.warn("rate_limit_sync_failed reason={}", e.getMessage());
+        }
+    }
+
+    /** 그 사이 쓰인 키의 로컬 사용량(+ 지나간 윈도우 carry)을 DB 에 더하고, 전체 사용량을 다시 읽는다 */
+    public void sync() {
+        if (touched.isEmpty()) return;
+        List<String> keys = new ArrayList<>(touched);
+        touched.removeAll(keys);
+        // 인스턴스끼리 같은 순서로 행 잠금을 잡도록 정렬 (upsert 가 키 순서대로 잠그므로 교착 방지)
+        Collections.sort(keys);
+
+        for (int from = 0; from < keys.size(); from += BATCH) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + BATCH));
+            List<Sent> sent = new ArrayList<>();
+            try {
+                syncChunk(chunk, sent);
+            } catch (Exception e) {
+                // 보내지 못한 양은 원래 윈도우 그대로 다음 동기화에 다시 보낸다
+                sent.forEach(JdbcRateLimitStore::restore);
+                touched.addAll(keys.subList(from, keys.size()));
+                log.warn("rate_limit_sync_failed keys={} reason={}", chunk.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static void restore(Sent s) {
+        Counter c = s.counter();
+        synchronized (c) {
+            carry(c, s.carryStart(), s.carry());
+            if (s.pending() <= 0) return;
+            if (c.windowStart == s.windowStart()) c.pending.addAndGet(s.pending());
+            else carry(c, s.windowStart(), s.pending());
+        }
+    }
+
+    private void syncChunk(List<String> chunk, List<Sent> sent) {
+        List<Object> args = new ArrayList<>(chunk.size() * 8);
+        Map<String, Counter> byKey = new HashMap<>();
+        int rows = 0;
+        for (String k : chunk) {
+            Counter c = counters.getIfPresent(k);
+            if (c == null) continue;
+            Sent s;
+            synchronized (c) {
+                s = new Sent(c, c.carryStart, c.carryUsed, c.windowStart, c.pending.getAndSet(0));
+                c.carryStart = Long.MIN_VALUE;
+                c.carryUsed = 0;
+            }
+            sent.add(s);
+            byKey.put(k, c);
+            // 같은 키의 지나간 윈도우 행을 먼저 보내야 현재 윈도우 행이 그 값을 prev_used 로 넘긴다
+            if (s.carry() > 0) {
+                Collections.addAll(args, k, c.windowMs, s.carryStart(), s.carry());
+                rows++;
+            }
+            Collections.addAll(args, k, c.windowMs, s.windowStart(), s.pending());
+            rows++;
+        }
+        if (byKey.isEmpty()) return;
+
+        String sql = UPSERT_HEAD + String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?, 0)")) + UPSERT_TAIL;
+        jdbcTemplate.update(sql, args.toArray());
+        sent.clear();
+
+        Map<String, Synced> synced = new HashMap<>();
+        namedJdbc.query("select k, window_start, used, prev_used from rate_limit_counters where k in (:keys)",
+                new MapSqlParameterSource("keys", byKey.keySet()),
+                (RowCallbackHandler) rs -> synced.put(rs.getString("k"),
+                        new Synced(rs.getLong("window_start"), rs.getLong("used"), rs.getLong("prev_used"))));
+
+        synced.forEach((k, s) -> {
+            Counter c = byKey.get(k);
+            synchronized (c) {
+                if (s.windowStart() == c.windowStart) {
+                    c.globalUsed = s.used();
+                    c.globalPrev = s.prevUsed();
+                } else if (s.windowStart() > c.windowStart) {
+                    // 다른 인스턴스가 먼저 다음 윈도우로 넘어감 (시계 차이): 그 사이 쓴 양은 이전 윈도우 몫으로 보낸다
+                    carry(c, c.windowStart, c.pending.getAndSet(0));
+                    touched.add(k);
+                    c.windowStart = s.windowStart();
+                    c.globalUsed = s.used();
+                    c.globalPrev = s.prevUsed();
+                }
+            }
+        });
+    }
+
+    /** 하루 넘게 갱신되지 않은 카운터 정리 */
+    @Scheduled(fixedDelay = 3_600_000L, initialDelay = 60_000L)
+    public void purge() {
+        try {
+            int n;
+            do {
+                n = jdbcTemplate.update(
+                        "delete from rate_limit_counters where updated_at < current_timestamp - interval 1 day limit 1000");
+            } while (n == 1000);
+        } catch (Exception e) {
+            log.warn("rate_limit_purge_failed reason={}", e.getMessage());
+        }
+    }
+}
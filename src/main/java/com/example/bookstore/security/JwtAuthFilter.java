@@ -21,14 +21,17 @@ import java.util.List;
 /**
  * Authorization: Bearer <accessToken> 인증 필터.
  * - 실패 시 과제 요구사항의 ErrorResponse 포맷으로 통일하여 반환한다.
+ * - 비활성화된 사용자의 아직 만료되지 않은 토큰은 DeactivatedUserRegistry 로 차단한다.
  */
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final DeactivatedUserRegistry deactivatedUsers;
     private final ObjectMapper objectMapper;
 
-    public JwtAuthFilter(JwtProvider jwtProvider, ObjectMapper objectMapper) {
+    public JwtAuthFilter(JwtProvider jwtProvider, DeactivatedUserRegistry deactivatedUsers, ObjectMapper objectMapper) {
         this.jwtProvider = jwtProvider;
+        this.deactivatedUsers = deactivatedUsers;
         this.objectMapper = objectMapper;
     }
 
@@ -41,6 +44,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             String token = auth.substring(7);
             try {
                 UserPrincipal principal = jwtProvider.validateAndParseAccessToken(token);
+                if (deactivatedUsers.isDeactivated(principal.userId())) {
+                    throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
+                }
 
                 var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.role().name().toUpperCase()));
                 var authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
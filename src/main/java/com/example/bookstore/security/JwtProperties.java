@@ -8,6 +8,7 @@ public record JwtProperties(
         String accessSecret,
         long accessExpMinutes,
         String refreshPepper,
-        long refreshExpDays
+        long refreshExpDays,
+        Integer verifiedCacheSize
 ) {
 }
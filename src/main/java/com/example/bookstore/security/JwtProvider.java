@@ -3,20 +3,39 @@ package com.example.bookstore.security;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
 import com.example.bookstore.user.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
+/**
+ * Access Token 발급/검증.
+ * - parser 는 생성 시 한 번만 만든다 (thread-safe)
+ * - 검증에 성공한 토큰은 SHA-256 해시 → UserPrincipal 로 캐시 (크기 제한, 만료는 토큰 exp 까지)
+ *   → 같은 Bearer 토큰의 반복 요청은 서명 검증/claims 파싱을 건너뜀
+ */
 public class JwtProvider {
 
+    static final int DEFAULT_VERIFIED_CACHE_SIZE = 10_000;
+
+    private record Verified(UserPrincipal principal, long expMillis) {}
+
     private final JwtProperties props;
     private final SecretKey accessKey;
+    private final JwtParser parser;
+    private final Cache<String, Verified> verified;
 
     public JwtProvider(JwtProperties props) {
         this.props = props;
@@ -24,16 +43,46 @@ public class JwtProvider {
             throw new IllegalArgumentException("app.jwt.access-secret must be at least 32 chars");
         }
         this.accessKey = Keys.hmacShaKeyFor(props.accessSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(accessKey).build();
+
+        int cacheSize = props.verifiedCacheSize() == null ? DEFAULT_VERIFIED_CACHE_SIZE : props.verifiedCacheSize();
+        this.verified = cacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, Verified>() {
+                    @Override
+                    public long expireAfterCreate(String key, Verified v, long currentTime) {
+                        return Math.max(0, v.expMillis() - System.currentTimeMillis()) * 1_000_000L;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Verified v, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, v, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Verified v, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String createAccessToken(Long userId, UserRole role) {
+        return createAccessToken(userId, role, null);
+    }
+
+    /** sellerId 가 있으면 seller_id claim 포함 (판매자 요청에서 users 조회 생략) */
+    public String createAccessToken(Long userId, UserRole role, Long sellerId) {
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(props.accessExpMinutes() * 60);
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
                 .issuer(props.issuer())
                 .subject(String.valueOf(userId))
-                .claim("role", role.name())
+                .claim("role", role.name());
+        if (sellerId != null) builder.claim("seller_id", sellerId);
+
+        return builder
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
                 .signWith(accessKey)
@@ -41,21 +90,43 @@ public class JwtProvider {
     }
 
     public UserPrincipal validateAndParseAccessToken(String token) {
+        String key = verified == null ? null : sha256(token);
+        if (key != null) {
+            Verified hit = verified.getIfPresent(key);
+            if (hit != null) {
+                if (hit.expMillis() > System.currentTimeMillis()) return hit.principal();
+                verified.invalidate(key);
+                throw new ApiException(ErrorCode.TOKEN_EXPIRED, "토큰이 만료되었습니다.");
+            }
+        }
+
         try {
-            Jws<Claims> jws = Jwts.parser()
-                    .verifyWith(accessKey)
-                    .build()
-                    .parseSignedClaims(token);
+            Jws<Claims> jws = parser.parseSignedClaims(token);
 
             Claims c = jws.getPayload();
             Long userId = Long.valueOf(c.getSubject());
             String role = c.get("role", String.class);
+            Number sellerId = c.get("seller_id", Number.class);
 
-            return new UserPrincipal(userId, UserRole.valueOf(role));
+            UserPrincipal principal = new UserPrincipal(userId, UserRole.valueOf(role),
+                    sellerId == null ? null : sellerId.longValue());
+            if (key != null && c.getExpiration() != null) {
+                verified.put(key, new Verified(principal, c.getExpiration().getTime()));
+            }
+            return principal;
         } catch (io.jsonwebtoken.ExpiredJwtException e) {
             throw new ApiException(ErrorCode.TOKEN_EXPIRED, "토큰이 만료되었습니다.");
         } catch (Exception e) {
             throw new ApiException(ErrorCode.TOKEN_INVALID, "유효하지 않은 토큰입니다.");
         }
     }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
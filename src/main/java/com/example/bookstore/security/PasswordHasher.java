@@ -0,0 +1,169 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비밀번호 해시(BCrypt) 전용 bounded executor.
+ * - BCrypt 는 요청당 수십~수백 ms CPU 를 쓰므로 로그인 폭주 시 Tomcat 요청 스레드를 모두 잡아먹지 않도록
+ *   고정 크기 풀 + 고정 크기 큐에서만 실행한다
+ * - 큐가 가득 차거나 wait-timeout 안에 끝나지 않으면 즉시 503(SERVICE_UNAVAILABLE)
+ * - 대기 시간/해시 시간/거절 수는 stats() 로 노출 (ADMIN API)
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    public record Stats(int threads, int active, int queued, int queueCapacity,
+                        long completed, long rejected, long timedOut, long rehashed,
+                        double avgWaitMillis, double avgHashMillis, double maxHashMillis) {}
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long waitTimeoutMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${app.password.bcrypt-strength:10}") int strength,
+                          @Value("${app.password.threads:0}") int threads,
+                          @Value("${app.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${app.password.wait-timeout-ms:3000}") long waitTimeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        // 기본값: CPU 코어 절반 (나머지 코어는 일반 요청 처리용)
+        int n = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.waitTimeoutMs = Math.max(1, waitTimeoutMs);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hasher-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String encode(String raw) {
+        return run(() -> passwordEncoder.encode(raw));
+    }
+
+    public boolean matches(String raw, String encoded) {
+        return run(() -> passwordEncoder.matches(raw, encoded));
+    }
+
+    /**
+     * 로그인 성공 후 호출: 저장된 해시의 cost 가 현재 설정과 다르면(올리든 내리든) 새 해시, 아니면 null.
+     * (BCryptPasswordEncoder.upgradeEncoding 은 cost 가 낮을 때만 true 라 직접 비교한다)
+     * 재해시는 부가 작업이므로 풀이 바쁘면 건너뛰고 다음 로그인에 다시 시도한다.
+     */
+    public String upgrade(String raw, String encoded) {
+        int cost = costOf(encoded);
+        if (cost < 0 || cost == strength) return null;
+        try {
+            String next = encode(raw);
+            rehashed.increment();
+            return next;
+        } catch (ApiException e) {
+            return null;
+        }
+    }
+
+    /** "$2a$10$..." 형식 BCrypt 해시의 cost, 형식이 다르면 -1 */
+    static int costOf(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$'
+                || encoded.charAt(3) != '$' || encoded.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encoded.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public Stats stats() {
+        long done = completed.sum();
+        return new Stats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                done,
+                rejected.sum(),
+                timedOut.sum(),
+                rehashed.sum(),
+                done == 0 ? 0 : waitNanos.sum() / 1e6 / done,
+                done == 0 ? 0 : hashNanos.sum() / 1e6 / done,
+                maxHashNanos.get() / 1e6
+        );
+    }
+
+    private <T> T run(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> f;
+        try {
+            f = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    long took = System.nanoTime() - started;
+                    waitNanos.add(started - submitted);
+                    hashNanos.add(took);
+                    maxHashNanos.accumulateAndGet(took, Math::max);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return f.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            f.cancel(true);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            f.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            log.warn("password_hash_failed reason={}", cause == null ? null : cause.getMessage());
+            throw new ApiException(ErrorCode.INTERNAL_ERROR, "서버 오류가 발생했습니다.");
+        }
+    }
+
+    private static ApiException busy() {
+        return new ApiException(ErrorCode.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+    }
+}
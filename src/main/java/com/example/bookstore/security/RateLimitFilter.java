@@ -7,38 +7,65 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * 간단한 인메모리 레이트리밋 필터.
- * - 인증 없는 요청(Authorization 헤더가 없는 요청)에만 적용
- * - 기본: IP 당 60 req / 1분
+ * 인메모리 레이트리밋 필터 (IP 당 토큰 버킷).
+ * - 인증 없는 요청(Bearer 토큰이 없는 요청)에만 적용, 인증 요청은 UserRateLimitFilter 가 사용자 단위로 제한
+ * - 경로 그룹별 한도 (예: /api/auth/** 는 더 엄격하게), 그 외는 기본 한도 (기본: IP 당 60 req / 1분)
+ * - 버킷 상태는 RateLimitStore (기본 인메모리, 여러 인스턴스면 공유 저장소)
  */
 public class RateLimitFilter extends OncePerRequestFilter {
 
+    static final int DEFAULT_MAX_KEYS = 100_000;
+
+    /** 경로 그룹 한도 (method 가 null 이면 모든 메서드) */
+    record RouteLimit(String name, String method, String pattern, int limit, long windowMs) {}
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
     private final ObjectMapper om;
-    private final int limitPerWindow;
-    private final long windowMs;
+    private final List<RouteLimit> routes;
+    private final RouteLimit fallback;
+    private final RateLimitStore store;
 
-    private static final class Window {
-        volatile long windowStartMs;
-        final AtomicInteger count = new AtomicInteger(0);
-        Window(long startMs) { this.windowStartMs = startMs; }
+    public RateLimitFilter(ObjectMapper om, int limitPerWindow, long windowMs) {
+        this(om, List.of(), new RouteLimit("default", null, "/**", limitPerWindow, windowMs),
+                new InMemoryRateLimitStore(DEFAULT_MAX_KEYS));
     }
 
-    private final ConcurrentHashMap<String, Window> counters = new ConcurrentHashMap<>();
+    public RateLimitFilter(ObjectMapper om, RateLimitProperties props, RateLimitStore store) {
+        this(om, routesOf(props),
+                new RouteLimit("default", null, "/**",
+                        props.limit() == null ? 60 : props.limit(),
+                        props.windowMs() == null ? 60_000L : props.windowMs()),
+                store);
+    }
 
-    public RateLimitFilter(ObjectMapper om, int limitPerWindow, long windowMs) {
+    RateLimitFilter(ObjectMapper om, List<RouteLimit> routes, RouteLimit fallback, RateLimitStore store) {
         this.om = om;
-        this.limitPerWindow = limitPerWindow;
-        this.windowMs = windowMs;
+        this.routes = List.copyOf(routes);
+        this.fallback = fallback;
+        this.store = store;
+    }
+
+    private static List<RouteLimit> routesOf(RateLimitProperties props) {
+        List<RouteLimit> out = new ArrayList<>();
+        if (props.routes() == null) return out;
+        for (RateLimitProperties.Route r : props.routes()) {
+            out.add(new RouteLimit(r.name(), r.method(), r.pattern(), r.limit(), r.windowMs()));
+        }
+        return out;
     }
 
     @Override
@@ -56,52 +83,68 @@ public class RateLimitFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String auth = request.getHeader("Authorization");
-        if (auth != null && !auth.isBlank()) {
-            // Authorization 헤더가 있으면 인증 요청으로 보고 레이트리밋 제외
+        if (auth != null && auth.startsWith("Bearer ")) {
+            // Bearer 토큰이 있으면 인증 요청으로 보고 제외 (JwtAuthFilter 검증 후 UserRateLimitFilter 에서 제한)
             filterChain.doFilter(request, response);
             return;
         }
 
-        long now = System.currentTimeMillis();
-        String key = clientKey(request);
-
-        Window w = counters.compute(key, (k, old) -> {
-            if (old == null) {
-                Window nw = new Window(now);
-                nw.count.incrementAndGet();
-                return nw;
-            }
-            if (now - old.windowStartMs >= windowMs) {
-                old.windowStartMs = now;
-                old.count.set(0);
-            }
-            old.count.incrementAndGet();
-            return old;
-        });
-
-        if (w.count.get() > limitPerWindow) {
-            int status = ErrorCode.TOO_MANY_REQUESTS.status().value();
-            response.setStatus(status);
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            om.writeValue(response.getWriter(), new ErrorResponse(
-                    Instant.now().toString(),
-                    request.getRequestURI(),
-                    status,
-                    ErrorCode.TOO_MANY_REQUESTS.name(),
-                    "요청이 너무 많습니다.",
-                    Map.of("limit_per_minute", limitPerWindow)
-            ));
-            return;
-        }
+        RouteLimit route = routeOf(request);
+        String key = "ip:" + route.name() + ":" + clientKey(request);
+        RateLimitStore.Decision d = store.tryAcquire(key, route.limit(), route.windowMs(), 1);
+        writeHeaders(response, route.limit(), d);
 
-        // 아주 간단한 청소(메모리 누수 방지용)
-        if (counters.size() > 10_000) {
-            counters.clear();
+        if (!d.allowed()) {
+            reject(om, request, response, d, Map.of(
+                    "limit_per_minute", route.limit() * 60_000L / Math.max(1, route.windowMs()),
+                    "route", route.name()));
+            return;
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /** X-RateLimit-Limit / Remaining / Reset(버킷이 가득 찰 때까지 초) */
+    static void writeHeaders(HttpServletResponse response, long limit, RateLimitStore.Decision d) {
+        response.setHeader("X-RateLimit-Limit", String.valueOf(limit));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(d.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSeconds(d.resetMs())));
+    }
+
+    /** 429 TOO_MANY_REQUESTS (공통 ErrorResponse + Retry-After) */
+    static void reject(ObjectMapper om, HttpServletRequest request, HttpServletResponse response,
+                       RateLimitStore.Decision d, Map<String, Object> details) throws IOException {
+        long retryAfterSeconds = Math.max(1, toSeconds(d.retryAfterMs()));
+        Map<String, Object> body = new LinkedHashMap<>(details);
+        body.put("retry_after_seconds", retryAfterSeconds);
+
+        int status = ErrorCode.TOO_MANY_REQUESTS.status().value();
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        om.writeValue(response.getWriter(), new ErrorResponse(
+                Instant.now().toString(),
+                request.getRequestURI(),
+                status,
+                ErrorCode.TOO_MANY_REQUESTS.name(),
+                "요청이 너무 많습니다.",
+                body
+        ));
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    private RouteLimit routeOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (RouteLimit r : routes) {
+            if (r.method() != null && !r.method().equalsIgnoreCase(request.getMethod())) continue;
+            if (PATHS.match(r.pattern(), path)) return r;
+        }
+        return fallback;
+    }
+
     private String clientKey(HttpServletRequest request) {
         // 프록시 환경이면 X-Forwarded-For 사용 가능
         String xff = request.getHeader("X-Forwarded-For");
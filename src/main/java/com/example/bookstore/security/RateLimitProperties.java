@@ -0,0 +1,32 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.user.UserRole;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 레이트리밋 설정.
+ * - limit / windowMs: 인증 없는 요청(IP 기준) 중 경로 그룹에 해당하지 않는 요청의 기본 한도
+ * - routes: 경로 그룹별 한도 (위에서부터 처음 일치한 그룹 적용, method 가 없으면 모든 메서드)
+ * - users: 인증 요청(사용자 기준)의 역할별 한도와 엔드포인트별 비용
+ * - store: memory(인스턴스별) | jdbc(인스턴스 간 공유, syncIntervalMs 마다 일괄 동기화), maxKeys: 추적 키 최대 수
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        Integer limit,
+        Long windowMs,
+        Integer maxKeys,
+        String store,
+        Long syncIntervalMs,
+        List<Route> routes,
+        Users users
+) {
+    public record Route(String name, String method, String pattern, int limit, long windowMs) {}
+
+    /** windowMs 동안 역할별 limits 만큼의 비용 (요청 비용 기본 1, costs 에서 처음 일치한 값) */
+    public record Users(Long windowMs, Map<UserRole, Integer> limits, List<Cost> costs) {}
+
+    public record Cost(String method, String pattern, int cost) {}
+}
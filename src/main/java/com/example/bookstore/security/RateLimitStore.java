@@ -0,0 +1,15 @@
+package com.example.bookstore.security;
+
+/**
+ * 레이트리밋 상태 저장소 SPI.
+ * - InMemoryRateLimitStore: 인스턴스 로컬 토큰 버킷 (기본)
+ * - JdbcRateLimitStore: 여러 인스턴스가 DB 카운터를 공유 (로컬 선집계 + 주기적 일괄 동기화)
+ */
+public interface RateLimitStore {
+
+    /** 허용 여부, 남은 양, 거절 시 다시 시도할 때까지(ms), 한도가 다시 가득 찰 때까지(ms) */
+    record Decision(boolean allowed, long remaining, long retryAfterMs, long resetMs) {}
+
+    /** key 의 한도(windowMs 동안 capacity)에서 cost 만큼 차감 시도 */
+    Decision tryAcquire(String key, long capacity, long windowMs, long cost);
+}
@@ -4,10 +4,13 @@ import com.example.bookstore.common.ErrorCode;
 import com.example.bookstore.common.ErrorResponse;
 import com.example.bookstore.common.RequestLoggingFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,7 +22,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableMethodSecurity
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, RateLimitProperties.class})
 public class SecurityConfig {
 
     @Bean
@@ -28,14 +31,31 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtProvider jwtProvider, ObjectMapper objectMapper) {
-        return new JwtAuthFilter(jwtProvider, objectMapper);
+    public JwtAuthFilter jwtAuthFilter(JwtProvider jwtProvider, DeactivatedUserRegistry deactivatedUsers, ObjectMapper objectMapper) {
+        return new JwtAuthFilter(jwtProvider, deactivatedUsers, objectMapper);
     }
 
     @Bean
-    public RateLimitFilter rateLimitFilter(ObjectMapper objectMapper) {
-        // IP 당 60 req / 1분 (인증 없는 요청에만 적용)
-        return new RateLimitFilter(objectMapper, 60, 60_000L);
+    public RateLimitStore rateLimitStore(RateLimitProperties props, ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        int maxKeys = props.maxKeys() == null ? RateLimitFilter.DEFAULT_MAX_KEYS : props.maxKeys();
+        // 여러 인스턴스로 운영하면 jdbc: 한도를 인스턴스 간에 공유 (아니면 실효 한도가 인스턴스 수 배)
+        if ("jdbc".equalsIgnoreCase(props.store())) {
+            long syncIntervalMs = props.syncIntervalMs() == null ? 200 : props.syncIntervalMs();
+            return new JdbcRateLimitStore(jdbcTemplate.getObject(), maxKeys, syncIntervalMs);
+        }
+        return new InMemoryRateLimitStore(maxKeys);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(ObjectMapper objectMapper, RateLimitProperties props, RateLimitStore store) {
+        // IP 당 한도 (인증 없는 요청에만 적용, 경로 그룹별 한도는 app.rate-limit.routes)
+        return new RateLimitFilter(objectMapper, props, store);
+    }
+
+    @Bean
+    public UserRateLimitFilter userRateLimitFilter(ObjectMapper objectMapper, RateLimitProperties props, RateLimitStore store) {
+        // 인증된 사용자 id 당 한도 (역할별 한도 + 엔드포인트 비용, app.rate-limit.users)
+        return new UserRateLimitFilter(objectMapper, props.users(), store);
     }
 
     @Bean
@@ -44,8 +64,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.password.bcrypt-strength:10}") int strength) {
+        // strength 를 바꾸면 기존 해시는 다음 로그인 때 새 cost 로 재해시된다 (PasswordHasher.upgrade)
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -53,6 +74,7 @@ public class SecurityConfig {
                                                    RequestLoggingFilter requestLoggingFilter,
                                                    RateLimitFilter rateLimitFilter,
                                                    JwtAuthFilter jwtAuthFilter,
+                                                   UserRateLimitFilter userRateLimitFilter,
                                                    ObjectMapper om)
             throws Exception {
 
@@ -94,10 +116,11 @@ public class SecurityConfig {
                         })
                 );
 
-        // request -> logging -> rate limit -> jwt auth -> controller
+        // request -> logging -> rate limit(IP) -> jwt auth -> rate limit(user) -> controller
         http.addFilterBefore(requestLoggingFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(userRateLimitFilter, JwtAuthFilter.class);
         return http.build();
     }
 }
@@ -0,0 +1,49 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.user.User;
+import com.example.bookstore.user.UserRepository;
+import com.example.bookstore.user.UserRole;
+import org.springframework.stereotype.Component;
+
+/**
+ * 판매자 요청의 seller_id 확인.
+ * - access token 의 seller_id claim 을 그대로 사용 (users 조회 없음, 비활성 사용자는 JwtAuthFilter 에서 차단)
+ * - claim 이 없는 이전 토큰만 users 를 조회
+ */
+@Component
+public class SellerIdentity {
+
+    private final UserRepository userRepository;
+
+    public SellerIdentity(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /** 판매자 역할이 아니면 FORBIDDEN, 연결된 seller_id 가 없으면 null */
+    public Long sellerIdOf(UserPrincipal me) {
+        if (me == null || me.userId() == null) {
+            throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
+        }
+        if (me.role() != UserRole.seller) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
+        }
+        if (me.sellerId() != null) return me.sellerId();
+
+        User user = userRepository.findByIdAndDeletedAtIsNull(me.userId())
+                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
+        if (user.getRole() != UserRole.seller) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
+        }
+        return user.getSellerId();
+    }
+
+    public Long requireSellerId(UserPrincipal me) {
+        Long sellerId = sellerIdOf(me);
+        if (sellerId == null) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
+        }
+        return sellerId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.security.RateLimitStore.Decision;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA: 다음 토큰이 "이론상 도착하는 시각" TAT 하나만 CAS 로 갱신).
+ * - 용량 capacity, window 동안 capacity 개가 고르게 다시 채워짐 → 고정 윈도우 경계의 2배 버스트 없음
+ * - 상태가 long 하나라 키가 많아도 메모리가 작고, 오래 안 쓴 버킷은 가득 찬 버킷과 같다 (버려도 무방)
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final long windowMs;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(long capacity, long windowMs) {
+        this.capacity = Math.max(1, capacity);
+        this.windowMs = Math.max(1, windowMs);
+        this.intervalNanos = Math.max(1, this.windowMs * 1_000_000L / this.capacity);
+        this.toleranceNanos = intervalNanos * this.capacity;
+    }
+
+    long windowMs() {
+        return windowMs;
+    }
+
+    Decision tryAcquire(long nowNanos, long cost) {
+        long increment = intervalNanos * Math.max(1, cost);
+        while (true) {
+            long prev = tat.get();
+            long next = Math.max(prev, nowNanos) + increment;
+            long used = next - nowNanos;
+            if (used > toleranceNanos) {
+                long waitNanos = used - toleranceNanos;
+                long pending = Math.max(prev, nowNanos) - nowNanos;
+                return new Decision(false, Math.max(0, (toleranceNanos - pending) / intervalNanos),
+                        Math.max(1, toMillis(waitNanos)), toMillis(pending));
+            }
+            if (tat.compareAndSet(prev, next)) {
+                return new Decision(true, (toleranceNanos - used) / intervalNanos, 0, toMillis(used));
+            }
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return (nanos + 999_999) / 1_000_000;
+    }
+}
@@ -2,5 +2,12 @@ package com.example.bookstore.security;
 
 import com.example.bookstore.user.UserRole;
 
-public record UserPrincipal(Long userId, UserRole role) {
+/**
+ * 인증 주체. sellerId 는 access token 의 seller_id claim (판매자 계정만, 이전에 발급된 토큰은 null).
+ */
+public record UserPrincipal(Long userId, UserRole role, Long sellerId) {
+
+    public UserPrincipal(Long userId, UserRole role) {
+        this(userId, role, null);
+    }
 }
@@ -0,0 +1,111 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.user.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인증 요청용 레이트리밋 필터 (JwtAuthFilter 뒤, 사용자 id 당 토큰 버킷).
+ * - 역할(user/seller/admin)별 한도, 통계·정산 같은 비싼 엔드포인트는 요청당 비용을 크게
+ * - 응답에 X-RateLimit-Limit / Remaining / Reset 헤더
+ * - 버킷 상태는 RateLimitStore (크기 제한 → 메모리 상한 고정, 여러 인스턴스면 공유 저장소)
+ */
+public class UserRateLimitFilter extends OncePerRequestFilter {
+
+    /** 엔드포인트 비용 (method 가 null 이면 모든 메서드) */
+    record EndpointCost(String method, String pattern, int cost) {}
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final ObjectMapper om;
+    private final Map<UserRole, Integer> limits;
+    private final long windowMs;
+    private final List<EndpointCost> costs;
+    private final RateLimitStore store;
+
+    public UserRateLimitFilter(ObjectMapper om, RateLimitProperties.Users props, RateLimitStore store) {
+        this(om, limitsOf(props), props == null || props.windowMs() == null ? 60_000L : props.windowMs(),
+                costsOf(props), store);
+    }
+
+    UserRateLimitFilter(ObjectMapper om, Map<UserRole, Integer> limits, long windowMs, List<EndpointCost> costs,
+                        RateLimitStore store) {
+        this.om = om;
+        this.limits = new EnumMap<>(UserRole.class);
+        this.limits.putAll(limits);
+        this.windowMs = Math.max(1, windowMs);
+        this.costs = List.copyOf(costs);
+        this.store = store;
+    }
+
+    private static Map<UserRole, Integer> limitsOf(RateLimitProperties.Users props) {
+        if (props == null || props.limits() == null) {
+            return Map.of(UserRole.user, 300, UserRole.seller, 600, UserRole.admin, 1200);
+        }
+        return props.limits();
+    }
+
+    private static List<EndpointCost> costsOf(RateLimitProperties.Users props) {
+        List<EndpointCost> out = new ArrayList<>();
+        if (props == null || props.costs() == null) return out;
+        for (RateLimitProperties.Cost c : props.costs()) {
+            out.add(new EndpointCost(c.method(), c.pattern(), c.cost()));
+        }
+        return out;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal me)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Integer limit = limits.get(me.role());
+        if (limit == null || limit <= 0) {
+            // 한도가 없는 역할은 제한하지 않음
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 한도보다 비싼 요청은 가득 찬 버킷에서는 통과되도록 한도로 자른다
+        int cost = Math.min(costOf(request), limit);
+        RateLimitStore.Decision d = store.tryAcquire("user:" + me.role().name() + ":" + me.userId(), limit, windowMs, cost);
+        RateLimitFilter.writeHeaders(response, limit, d);
+
+        if (!d.allowed()) {
+            RateLimitFilter.reject(om, request, response, d, Map.of(
+                    "limit", limit,
+                    "window_seconds", windowMs / 1000,
+                    "cost", cost));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    int costOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (EndpointCost c : costs) {
+            if (c.method() != null && !c.method().equalsIgnoreCase(request.getMethod())) continue;
+            if (PATHS.match(c.pattern(), path)) return Math.max(1, c.cost());
+        }
+        return 1;
+    }
+}
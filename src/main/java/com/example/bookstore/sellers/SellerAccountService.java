@@ -2,13 +2,14 @@ package com.example.bookstore.sellers;
 
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.security.PasswordHasher;
 import com.example.bookstore.sellers.dto.SellerAccountCreateRequest;
 import com.example.bookstore.user.User;
 import com.example.bookstore.user.UserRepository;
 import com.example.bookstore.user.UserRole;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * 판매자(seller) 로그인 계정 생성/관리 서비스.
@@ -19,32 +20,42 @@ public class SellerAccountService {
 
     private final SellerService sellerService;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate tx;
 
-    public SellerAccountService(SellerService sellerService, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public SellerAccountService(SellerService sellerService, UserRepository userRepository, PasswordHasher passwordHasher,
+                                PlatformTransactionManager transactionManager) {
         this.sellerService = sellerService;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.tx = new TransactionTemplate(transactionManager);
     }
 
     /**
      * ADMIN: sellerId에 연결된 로그인 계정 생성
+     * - 판매자/이메일 확인은 각각 읽기 트랜잭션, BCrypt 는 트랜잭션 밖, 저장만 짧은 쓰기 트랜잭션
      */
-    @Transactional
     public User createSellerAccount(long sellerId, SellerAccountCreateRequest req) {
         Seller seller = sellerService.get(sellerId);
 
         if (userRepository.existsByEmailAndDeletedAtIsNull(req.email())) {
             throw new ApiException(ErrorCode.CONFLICT, "이메일이 이미 존재합니다.");
         }
-
-        User u = new User();
-        u.setEmail(req.email());
-        u.setPassword(passwordEncoder.encode(req.password()));
-        u.setName((req.name() == null || req.name().isBlank()) ? seller.getName() : req.name());
-        u.setRole(UserRole.seller);
-        u.setSellerId(sellerId);
-
-        return userRepository.save(u);
+        String encoded = passwordHasher.encode(req.password());
+
+        return tx.execute(s -> {
+            if (userRepository.existsByEmailAndDeletedAtIsNull(req.email())) {
+                throw new ApiException(ErrorCode.CONFLICT, "이메일이 이미 존재합니다.");
+            }
+
+            User u = new User();
+            u.setEmail(req.email());
+            u.setPassword(encoded);
+            u.setName((req.name() == null || req.name().isBlank()) ? seller.getName() : req.name());
+            u.setRole(UserRole.seller);
+            u.setSellerId(sellerId);
+
+            return userRepository.save(u);
+        });
     }
 }
@@ -0,0 +1,50 @@
+package com.example.bookstore.sellers;
+
+import com.example.bookstore.common.ApiResponse;
+import com.example.bookstore.common.ItemsPayload;
+import com.example.bookstore.security.UserPrincipal;
+import com.example.bookstore.sellers.dto.BookUniqueViewersDto;
+import com.example.bookstore.sellers.dto.UniqueViewersDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * SELLER: 본인 도서 분석.
+ */
+@RestController
+@RequestMapping("/api/seller/me/analytics")
+@PreAuthorize("hasRole('SELLER')")
+public class SellerAnalyticsController {
+
+    private final SellerAnalyticsService analyticsService;
+
+    public SellerAnalyticsController(SellerAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // GET /api/seller/me/analytics/unique-viewers?from=2025-01-01&to=2025-01-31[&book_id=]
+    @GetMapping("/unique-viewers")
+    public ResponseEntity<ApiResponse<UniqueViewersDto>> uniqueViewers(
+            @AuthenticationPrincipal UserPrincipal me,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "book_id", required = false) Long bookId
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok("OK", analyticsService.uniqueViewers(me, bookId, from, to)));
+    }
+
+    // GET /api/seller/me/analytics/unique-viewers/books?date=2025-01-01&limit=20
+    @GetMapping("/unique-viewers/books")
+    public ResponseEntity<ApiResponse<ItemsPayload<BookUniqueViewersDto>>> booksByDate(
+            @AuthenticationPrincipal UserPrincipal me,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false, defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok("OK", new ItemsPayload<>(analyticsService.booksByDate(me, date, limit))));
+    }
+}
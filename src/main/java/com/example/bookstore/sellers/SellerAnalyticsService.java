@@ -0,0 +1,98 @@
+package com.example.bookstore.sellers;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.security.SellerIdentity;
+import com.example.bookstore.security.UserPrincipal;
+import com.example.bookstore.sellers.dto.BookUniqueViewersDto;
+import com.example.bookstore.sellers.dto.UniqueViewersDto;
+import com.example.bookstore.stats.UniqueViewerTracker;
+import com.example.bookstore.stats.UniqueViewerTracker.Scope;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 판매자 분석: 고유 조회자 수 (unique_viewer_sketches 기반).
+ */
+@Service
+public class SellerAnalyticsService {
+
+    static final int MAX_RANGE_DAYS = 92;
+
+    private final UniqueViewerTracker uniqueViewers;
+    private final SellerIdentity sellerIdentity;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SellerAnalyticsService(UniqueViewerTracker uniqueViewers, SellerIdentity sellerIdentity, JdbcTemplate jdbcTemplate) {
+        this.uniqueViewers = uniqueViewers;
+        this.sellerIdentity = sellerIdentity;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** bookId 가 null 이면 판매자 전체, 아니면 해당 도서(본인 도서만) */
+    public UniqueViewersDto uniqueViewers(UserPrincipal me, Long bookId, LocalDate from, LocalDate to) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
+        requireRange(from, to);
+
+        Scope scope = Scope.seller;
+        long id = sellerId;
+        if (bookId != null) {
+            requireOwnBook(sellerId, bookId);
+            scope = Scope.book;
+            id = bookId;
+        }
+
+        Map<LocalDate, Long> daily = uniqueViewers.dailyEstimates(scope, id, from, to);
+        long total = from.equals(to) ? daily.getOrDefault(from, 0L) : uniqueViewers.rangeEstimate(scope, id, from, to);
+        List<UniqueViewersDto.Daily> days = daily.entrySet().stream()
+                .map(e -> new UniqueViewersDto.Daily(e.getKey(), e.getValue()))
+                .toList();
+        return new UniqueViewersDto(scope.name(), id, from, to, total, days);
+    }
+
+    /** 하루 기준 도서별 고유 조회자 (많은 순) */
+    public List<BookUniqueViewersDto> booksByDate(UserPrincipal me, LocalDate date, int limit) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
+        int l = Math.min(Math.max(limit, 1), 100);
+        return jdbcTemplate.query("""
+                        select b.id as book_id, b.title, u.estimate
+                          from unique_viewer_sketches u
+                          join books b on b.id = u.scope_id
+                         where u.d = ? and u.scope = 'book' and b.seller_id = ?
+                         order by u.estimate desc, b.id asc
+                         limit ?
+                        """,
+                (rs, i) -> new BookUniqueViewersDto(rs.getLong("book_id"), rs.getString("title"), rs.getLong("estimate")),
+                Date.valueOf(date), sellerId, l);
+    }
+
+    private void requireOwnBook(Long sellerId, Long bookId) {
+        Long owner;
+        try {
+            owner = jdbcTemplate.queryForObject("select seller_id from books where id = ?", Long.class, bookId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new ApiException(ErrorCode.NOT_FOUND, "도서를 찾을 수 없습니다.");
+        }
+        if (!Objects.equals(owner, sellerId)) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "권한이 없습니다.");
+        }
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "from 은 to 이전이어야 합니다.", Map.of("from", from, "to", to));
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ApiException(ErrorCode.INVALID_QUERY_PARAM, "조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.",
+                    Map.of("from", from, "to", to));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bookstore.sellers.dto;
+
+public record BookUniqueViewersDto(
+        Long book_id,
+        String title,
+        Long unique_viewers
+) {}
@@ -0,0 +1,19 @@
+package com.example.bookstore.sellers.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 고유 조회자 수 (HyperLogLog 추정치, 표준 오차 약 1.6%).
+ * - unique_viewers: 기간 전체(날짜 간 중복 제거), daily: 날짜별
+ */
+public record UniqueViewersDto(
+        String scope,
+        Long scope_id,
+        LocalDate from,
+        LocalDate to,
+        Long unique_viewers,
+        List<Daily> daily
+) {
+    public record Daily(LocalDate date, Long unique_viewers) {}
+}
@@ -15,9 +15,11 @@ import org.springframework.web.bind.annotation.*;
 public class AdminSettlementController {
 
     private final SettlementService settlementService;
+    private final SettlementJobService settlementJobService;
 
-    public AdminSettlementController(SettlementService settlementService) {
+    public AdminSettlementController(SettlementService settlementService, SettlementJobService settlementJobService) {
         this.settlementService = settlementService;
+        this.settlementJobService = settlementJobService;
     }
 
     @PostMapping
@@ -26,6 +28,25 @@ public class AdminSettlementController {
         return ResponseEntity.ok(ApiResponse.ok("정산이 생성되었습니다.", res));
     }
 
+    /**
+     * 판매자별 병렬 정산 작업 시작 (같은 기간의 중단된 작업이 있으면 이어서 진행)
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<SettlementJobDto>> startJob(@Valid @RequestBody CreateSettlementRequest req) {
+        var res = settlementJobService.start(req.period_start(), req.period_end());
+        return ResponseEntity.accepted().body(ApiResponse.ok("정산 작업이 시작되었습니다.", res));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<SettlementJobDto>> job(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.ok("OK", settlementJobService.status(jobId)));
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<ApiResponse<SettlementJobDto>> cancelJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.ok("취소 요청되었습니다.", settlementJobService.cancel(jobId)));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<ItemsPayload<SettlementSummaryDto>>> list(
             @RequestParam(required = false) SettlementStatus status,
@@ -58,7 +58,7 @@ public class SellerSettlementController {
         PageRequest pageable = PageableUtil.pageRequest(page, size, limit, s);
 
         Page<SettlementSummaryDto> result = settlementService
-        .listForSeller(me.userId(), status, pageable)
+        .listForSeller(me, status, pageable)
         .map(settlementService::toSummary); // 또는 SettlementService::toSummary
         return ResponseEntity.ok(PageResponse.from(result, pageable));
     }
@@ -69,7 +69,7 @@ public class SellerSettlementController {
             @PathVariable Long settlementId
     ) {
         if (me == null) throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
-        return ResponseEntity.ok(ApiResponse.ok("OK", settlementService.detailForSeller(me.userId(), settlementId)));
+        return ResponseEntity.ok(ApiResponse.ok("OK", settlementService.detailForSeller(me, settlementId)));
     }
 
     @PatchMapping("/{settlementId}/confirm")
@@ -78,6 +78,6 @@ public class SellerSettlementController {
             @PathVariable Long settlementId
     ) {
         if (me == null) throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
-        return ResponseEntity.ok(ApiResponse.ok("OK", settlementService.sellerConfirm(me.userId(), settlementId)));
+        return ResponseEntity.ok(ApiResponse.ok("OK", settlementService.sellerConfirm(me, settlementId)));
     }
 }
@@ -0,0 +1,212 @@
+package com.example.bookstore.settlement;
+
+import com.example.bookstore.common.JdbcStreaming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 스트리밍 정산 엔진.
+ * - 기간 내 order_items 를 seller_id, id 순으로 한 번만 읽는다 (forward-only, fetch size 스트리밍)
+ * - 수수료율은 sellers 한 번 조회
+ * - 판매자별 헤더는 draft 로 먼저 만들고, 항목은 CHUNK 단위 batch insert + 커밋, 끝나면 합계 반영 후 pending
+ * → 메모리는 CHUNK 크기로 제한, 거대한 단일 트랜잭션 없음
+ *
+ * 스트리밍 중인 커넥션으로는 다른 문장을 실행할 수 없으므로 호출측은 트랜잭션 밖에서 호출해야 한다.
+ */
+@Component
+public class SettlementEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementEngine.class);
+
+    static final int CHUNK = 2000;
+
+    private static final String PERIOD_ROWS_SQL = """
+            select oi.seller_id as seller_id,
+                   oi.id as order_item_id,
+                   oi.subtotal_cents as gross_cents
+              from order_items oi
+              join orders o on o.id = oi.order_id
+             where o.created_at >= ?
+               and o.created_at < ?
+               and o.status in ('paid','shipped','delivered')
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final SettlementRepository settlementRepository;
+    private final SettlementItemRepository settlementItemRepository;
+    private final TransactionTemplate tx;
+
+    public SettlementEngine(JdbcTemplate jdbcTemplate,
+                            SettlementRepository settlementRepository,
+                            SettlementItemRepository settlementItemRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.settlementRepository = settlementRepository;
+        this.settlementItemRepository = settlementItemRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** 전체 판매자 1-pass 정산. 생성된 settlement id 목록(seller_id 순) */
+    public List<Long> run(LocalDate start, LocalDate end) {
+        return run(start, end, Set.of());
+    }
+
+    /** skipSellers(이미 확정된 정산이 있는 판매자)는 건너뛰고 정산 */
+    public List<Long> run(LocalDate start, LocalDate end, Set<Long> skipSellers) {
+        Map<Long, Integer> bpsBySeller = commissionRates();
+        List<Long> createdIds = new ArrayList<>();
+
+        SellerAccumulator[] current = {null};
+        try {
+            JdbcStreaming.query(jdbcTemplate, PERIOD_ROWS_SQL + " order by oi.seller_id, oi.id",
+                    List.of(Date.valueOf(start), Date.valueOf(end.plusDays(1))),
+                    rs -> {
+                        long sellerId = rs.getLong("seller_id");
+                        if (skipSellers.contains(sellerId)) return;
+                        if (current[0] == null || current[0].sellerId != sellerId) {
+                            if (current[0] != null) createdIds.add(current[0].finish());
+                            current[0] = new SellerAccumulator(sellerId, bpsBySeller.getOrDefault(sellerId, 0), start, end);
+                        }
+                        current[0].add(rs.getLong("order_item_id"), rs.getInt("gross_cents"));
+                    });
+            if (current[0] != null) createdIds.add(current[0].finish());
+        } catch (RuntimeException e) {
+            if (current[0] != null && current[0].settlementId != null) createdIds.add(current[0].settlementId);
+            discard(createdIds);
+            throw e;
+        }
+
+        log.info("settlement_run_done period={}~{} settlements={}", start, end, createdIds.size());
+        return createdIds;
+    }
+
+    /** 판매자 한 명의 기간 정산 (항목 수, settlement id). 항목이 없으면 null */
+    public SellerResult runForSeller(Long sellerId, int bps, LocalDate start, LocalDate end) {
+        SellerAccumulator acc = new SellerAccumulator(sellerId, bps, start, end);
+        try {
+            JdbcStreaming.query(jdbcTemplate, PERIOD_ROWS_SQL + " and oi.seller_id = ? order by oi.id",
+                    List.of(Date.valueOf(start), Date.valueOf(end.plusDays(1)), sellerId),
+                    rs -> acc.add(rs.getLong("order_item_id"), rs.getInt("gross_cents")));
+            if (acc.rows == 0) return null;
+            return new SellerResult(sellerId, acc.finish(), acc.rows);
+        } catch (RuntimeException e) {
+            if (acc.settlementId != null) discard(List.of(acc.settlementId));
+            throw e;
+        }
+    }
+
+    public record SellerResult(Long sellerId, Long settlementId, long rows) {}
+
+    public Map<Long, Integer> commissionRates() {
+        Map<Long, Integer> out = new HashMap<>();
+        jdbcTemplate.query("select id, commission_bps from sellers",
+                (RowCallbackHandler) rs -> out.put(rs.getLong("id"), rs.getInt("commission_bps")));
+        return out;
+    }
+
+    /** 실패한 실행이 만든 정산(및 항목) 정리 */
+    public void discard(Collection<Long> settlementIds) {
+        if (settlementIds.isEmpty()) return;
+        try {
+            tx.executeWithoutResult(s -> {
+                MapSqlParameterSource p = new MapSqlParameterSource("ids", settlementIds);
+                namedJdbc.update("delete from settlement_items where settlement_id in (:ids)", p);
+                namedJdbc.update("delete from settlements where id in (:ids)", p);
+            });
+        } catch (RuntimeException e) {
+            log.warn("settlement_discard_failed ids={} reason={}", settlementIds, e.getMessage());
+        }
+    }
+
+    static int calcCommission(long grossCents, int bps) {
+        return (int) (grossCents * (long) bps / 10000L); // floor
+    }
+
+    /**
+     * 판매자 한 명분 누적기: 첫 행에서 draft 헤더 생성, CHUNK 마다 항목 커밋, finish()에서 합계 반영.
+     */
+    private final class SellerAccumulator {
+        final long sellerId;
+        final int bps;
+        final LocalDate start;
+        final LocalDate end;
+
+        Long settlementId;
+        long gross;
+        long rows;
+        final List<SettlementItem> buffer = new ArrayList<>(CHUNK);
+
+        SellerAccumulator(long sellerId, int bps, LocalDate start, LocalDate end) {
+            this.sellerId = sellerId;
+            this.bps = bps;
+            this.start = start;
+            this.end = end;
+        }
+
+        void add(long orderItemId, int itemGross) {
+            if (settlementId == null) settlementId = createDraft();
+
+            int itemCommission = calcCommission(itemGross, bps);
+            SettlementItem si = new SettlementItem();
+            si.setSettlementId(settlementId);
+            si.setOrderItemId(orderItemId);
+            si.setSellerId(sellerId);
+            si.setGrossCents(itemGross);
+            si.setCommissionCents(itemCommission);
+            si.setNetCents(itemGross - itemCommission);
+            buffer.add(si);
+
+            gross += itemGross;
+            rows++;
+            if (buffer.size() >= CHUNK) {
+                tx.executeWithoutResult(s -> settlementItemRepository.batchInsert(buffer));
+                buffer.clear();
+            }
+        }
+
+        Long finish() {
+            int totalGross = (int) gross;
+            int commission = calcCommission(gross, bps);
+            tx.executeWithoutResult(s -> {
+                settlementItemRepository.batchInsert(buffer);
+                jdbcTemplate.update("""
+                        update settlements
+                           set status = 'pending',
+                               total_gross_cents = ?,
+                               total_commission_cents = ?,
+                               total_net_cents = ?
+                         where id = ?
+                        """, totalGross, commission, totalGross - commission, settlementId);
+            });
+            buffer.clear();
+            return settlementId;
+        }
+
+        private Long createDraft() {
+            return tx.execute(s -> {
+                Settlement st = new Settlement();
+                st.setSellerId(sellerId);
+                st.setPeriodStart(start);
+                st.setPeriodEnd(end);
+                st.setStatus(SettlementStatus.draft);
+                st.setTotalGrossCents(0);
+                st.setTotalCommissionCents(0);
+                st.setTotalNetCents(0);
+                return settlementRepository.save(st).getId();
+            });
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bookstore.settlement;
+
+import java.util.List;
+
+/**
+ * settlement_items 대량 insert (IDENTITY 키라 Hibernate batch 가 안 되므로 JDBC batch 로 우회).
+ */
+public interface SettlementItemBatchRepository {
+
+    /** id 는 채워지지 않는다. 호출측 트랜잭션에 참여한다. */
+    void batchInsert(List<SettlementItem> items);
+}
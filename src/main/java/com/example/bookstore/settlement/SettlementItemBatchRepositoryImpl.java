@@ -0,0 +1,38 @@
+package com.example.bookstore.settlement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+public class SettlementItemBatchRepositoryImpl implements SettlementItemBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into settlement_items (settlement_id, order_item_id, seller_id, gross_cents, commission_cents, net_cents, created_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SettlementItemBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<SettlementItem> items) {
+        if (items.isEmpty()) return;
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, BATCH_SIZE, (ps, si) -> {
+            ps.setLong(1, si.getSettlementId());
+            ps.setLong(2, si.getOrderItemId());
+            ps.setLong(3, si.getSellerId());
+            ps.setInt(4, si.getGrossCents());
+            ps.setInt(5, si.getCommissionCents());
+            ps.setInt(6, si.getNetCents());
+            ps.setTimestamp(7, si.getCreatedAt() != null ? Timestamp.from(si.getCreatedAt()) : now);
+        });
+    }
+}
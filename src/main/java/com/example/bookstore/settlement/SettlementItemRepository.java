@@ -4,7 +4,7 @@ package com.example.bookstore.settlement;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
-public interface SettlementItemRepository extends JpaRepository<SettlementItem, Long> {
+public interface SettlementItemRepository extends JpaRepository<SettlementItem, Long>, SettlementItemBatchRepository {
     List<SettlementItem> findBySettlementId(Long settlementId);
 
     List<SettlementItem> findBySettlementIdAndSellerId(Long settlementId, Long sellerId);
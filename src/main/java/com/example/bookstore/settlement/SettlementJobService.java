@@ -0,0 +1,305 @@
+package com.example.bookstore.settlement;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.settlement.dto.SettlementDtos.SettlementJobDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 판매자별 병렬 정산 작업 (ADMIN: 시작/조회/취소).
+ * - 판매자 단위 작업을 고정 크기 executor 에서 실행, 판매자마다 SettlementEngine 으로 커밋
+ * - 완료된 판매자는 settlement_job_sellers 에 체크포인트
+ * - 같은 기간으로 다시 시작하면 pending 판매자만 이어서 처리 (남은 draft 정산은 폐기 후 재생성,
+ *   이미 확정된 정산은 재사용) → V4 unique 제약에 걸려 실패하지 않음
+ */
+@Service
+public class SettlementJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementJobService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SettlementEngine settlementEngine;
+    private final TransactionTemplate tx;
+    private final ExecutorService executor;
+    private final Map<Long, RunningJob> running = new ConcurrentHashMap<>();
+
+    private static final class RunningJob {
+        final long jobId;
+        final LocalDate start;
+        final LocalDate end;
+        final long rowsAtStart;
+        final long startedNanos = System.nanoTime();
+        final AtomicLong doneRows;
+        final AtomicInteger remaining;
+        volatile boolean cancelled;
+        volatile String error;
+
+        RunningJob(long jobId, LocalDate start, LocalDate end, long rowsAtStart, int tasks) {
+            this.jobId = jobId;
+            this.start = start;
+            this.end = end;
+            this.rowsAtStart = rowsAtStart;
+            this.doneRows = new AtomicLong(rowsAtStart);
+            this.remaining = new AtomicInteger(tasks);
+        }
+    }
+
+    private record JobRow(long id, LocalDate periodStart, LocalDate periodEnd, String status,
+                          int totalSellers, int doneSellers, long totalRows, long doneRows,
+                          String error, Instant startedAt, Instant finishedAt) {}
+
+    private record PendingSeller(long sellerId, long expectedRows) {}
+
+    public SettlementJobService(JdbcTemplate jdbcTemplate,
+                                SettlementEngine settlementEngine,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.settlement.job.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settlementEngine = settlementEngine;
+        this.tx = new TransactionTemplate(transactionManager);
+        int threads = Math.max(1, parallelism);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "settlement-job-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public synchronized SettlementJobDto start(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new ApiException(ErrorCode.VALIDATION_FAILED, "period_end는 period_start 이후여야 합니다.");
+        }
+
+        JobRow existing = findByPeriod(start, end);
+        long jobId;
+        if (existing != null) {
+            if (running.containsKey(existing.id())) {
+                throw new ApiException(ErrorCode.CONFLICT, "해당 기간의 정산 작업이 이미 실행 중입니다.", Map.of("job_id", existing.id()));
+            }
+            if ("completed".equals(existing.status())) {
+                throw new ApiException(ErrorCode.CONFLICT, "해당 기간의 정산 작업이 이미 완료되었습니다.", Map.of("job_id", existing.id()));
+            }
+            jobId = existing.id();
+            jdbcTemplate.update("update settlement_jobs set status = 'running', error = null, finished_at = null where id = ?", jobId);
+            log.info("settlement_job_resume job_id={} done_sellers={}/{}", jobId, existing.doneSellers(), existing.totalSellers());
+        } else {
+            jobId = createJob(start, end);
+        }
+
+        List<PendingSeller> pending = jdbcTemplate.query(
+                "select seller_id, expected_rows from settlement_job_sellers where job_id = ? and status = 'pending' order by seller_id",
+                (rs, i) -> new PendingSeller(rs.getLong("seller_id"), rs.getLong("expected_rows")),
+                jobId);
+        Long doneRows = jdbcTemplate.queryForObject("select done_rows from settlement_jobs where id = ?", Long.class, jobId);
+
+        RunningJob job = new RunningJob(jobId, start, end, doneRows == null ? 0 : doneRows, pending.size());
+        if (pending.isEmpty()) {
+            finish(job);
+            return status(jobId);
+        }
+
+        Map<Long, Integer> rates = settlementEngine.commissionRates();
+        running.put(jobId, job);
+        for (PendingSeller p : pending) {
+            int bps = rates.getOrDefault(p.sellerId(), 0);
+            executor.submit(() -> runSeller(job, p, bps));
+        }
+        return status(jobId);
+    }
+
+    public SettlementJobDto status(Long jobId) {
+        JobRow row = findById(jobId);
+        RunningJob job = running.get(jobId);
+
+        Double rate = null;
+        Long eta = null;
+        long doneRows = row.doneRows();
+        if (job != null) {
+            doneRows = job.doneRows.get();
+            double elapsed = (System.nanoTime() - job.startedNanos) / 1_000_000_000.0;
+            long processed = doneRows - job.rowsAtStart;
+            if (elapsed > 0 && processed > 0) {
+                rate = processed / elapsed;
+                eta = (long) Math.ceil(Math.max(0, row.totalRows() - doneRows) / rate);
+            }
+        }
+
+        return new SettlementJobDto(
+                row.id(), row.periodStart(), row.periodEnd(), row.status(),
+                row.totalSellers(), row.doneSellers(), row.totalRows(), doneRows,
+                rate, eta, row.error(), row.startedAt(), row.finishedAt()
+        );
+    }
+
+    /** 실행 중이면 남은 판매자 작업을 건너뛰고(진행 중인 판매자는 마무리) cancelled 로 종료 */
+    public SettlementJobDto cancel(Long jobId) {
+        JobRow row = findById(jobId);
+        RunningJob job = running.get(jobId);
+        if (job != null) {
+            job.cancelled = true;
+        } else if ("running".equals(row.status())) {
+            // 프로세스 중단으로 남은 running 상태
+            jdbcTemplate.update("update settlement_jobs set status = 'cancelled', finished_at = ? where id = ?",
+                    Timestamp.from(Instant.now()), jobId);
+        }
+        return status(jobId);
+    }
+
+    // ---------------------------
+    // internal
+    // ---------------------------
+    private long createJob(LocalDate start, LocalDate end) {
+        return Objects.requireNonNull(tx.execute(s -> {
+            KeyHolder kh = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "insert into settlement_jobs (period_start, period_end, status) values (?, ?, 'running')",
+                        Statement.RETURN_GENERATED_KEYS);
+                ps.setDate(1, Date.valueOf(start));
+                ps.setDate(2, Date.valueOf(end));
+                return ps;
+            }, kh);
+            long jobId = Objects.requireNonNull(kh.getKey()).longValue();
+
+            jdbcTemplate.update("""
+                    insert into settlement_job_sellers (job_id, seller_id, expected_rows)
+                    select ?, oi.seller_id, count(*)
+                      from order_items oi
+                      join orders o on o.id = oi.order_id
+                     where o.created_at >= ?
+                       and o.created_at < ?
+                       and o.status in ('paid','shipped','delivered')
+                     group by oi.seller_id
+                    """, jobId, Date.valueOf(start), Date.valueOf(end.plusDays(1)));
+
+            jdbcTemplate.update("""
+                    update settlement_jobs
+                       set total_sellers = (select count(*) from settlement_job_sellers where job_id = ?),
+                           total_rows = (select coalesce(sum(expected_rows), 0) from settlement_job_sellers where job_id = ?)
+                     where id = ?
+                    """, jobId, jobId, jobId);
+            return jobId;
+        }));
+    }
+
+    private void runSeller(RunningJob job, PendingSeller p, int bps) {
+        try {
+            if (job.cancelled || job.error != null) return;
+
+            Long settlementId = reusableSettlement(p.sellerId(), job.start, job.end);
+            long rows = p.expectedRows();
+            if (settlementId == null) {
+                SettlementEngine.SellerResult r = settlementEngine.runForSeller(p.sellerId(), bps, job.start, job.end);
+                settlementId = r == null ? null : r.settlementId();
+                rows = r == null ? 0 : r.rows();
+            }
+
+            checkpoint(job.jobId, p.sellerId(), settlementId, rows);
+            job.doneRows.addAndGet(rows);
+        } catch (Exception e) {
+            job.error = "seller_id=" + p.sellerId() + ": " + e.getMessage();
+            log.warn("settlement_job_seller_failed job_id={} seller_id={} reason={}", job.jobId, p.sellerId(), e.getMessage());
+        } finally {
+            if (job.remaining.decrementAndGet() == 0) finish(job);
+        }
+    }
+
+    /** 이전 실행이 확정까지 마친 정산은 재사용, 중간에 끊긴 draft 는 폐기 */
+    private Long reusableSettlement(long sellerId, LocalDate start, LocalDate end) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select id, status from settlements where seller_id = ? and period_start = ? and period_end = ?",
+                sellerId, Date.valueOf(start), Date.valueOf(end));
+        if (rows.isEmpty()) return null;
+
+        long id = ((Number) rows.get(0).get("id")).longValue();
+        if ("draft".equals(String.valueOf(rows.get(0).get("status")))) {
+            settlementEngine.discard(List.of(id));
+            return null;
+        }
+        return id;
+    }
+
+    private void checkpoint(long jobId, long sellerId, Long settlementId, long rows) {
+        tx.executeWithoutResult(s -> {
+            jdbcTemplate.update("""
+                    update settlement_job_sellers
+                       set status = 'done', settlement_id = ?, done_at = ?
+                     where job_id = ? and seller_id = ?
+                    """, settlementId, Timestamp.from(Instant.now()), jobId, sellerId);
+            jdbcTemplate.update(
+                    "update settlement_jobs set done_sellers = done_sellers + 1, done_rows = done_rows + ? where id = ?",
+                    rows, jobId);
+        });
+    }
+
+    private void finish(RunningJob job) {
+        String status = job.error != null ? "failed" : job.cancelled ? "cancelled" : "completed";
+        try {
+            jdbcTemplate.update("update settlement_jobs set status = ?, error = ?, finished_at = ? where id = ?",
+                    status, job.error, Timestamp.from(Instant.now()), job.jobId);
+        } finally {
+            running.remove(job.jobId);
+        }
+        log.info("settlement_job_finished job_id={} status={}", job.jobId, status);
+    }
+
+    private JobRow findById(Long jobId) {
+        List<JobRow> rows = jdbcTemplate.query("select * from settlement_jobs where id = ?", (rs, i) -> toJobRow(rs), jobId);
+        if (rows.isEmpty()) throw new ApiException(ErrorCode.NOT_FOUND, "정산 작업을 찾을 수 없습니다.");
+        return rows.get(0);
+    }
+
+    private JobRow findByPeriod(LocalDate start, LocalDate end) {
+        List<JobRow> rows = jdbcTemplate.query(
+                "select * from settlement_jobs where period_start = ? and period_end = ?",
+                (rs, i) -> toJobRow(rs), Date.valueOf(start), Date.valueOf(end));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static JobRow toJobRow(java.sql.ResultSet rs) throws java.sql.SQLException {
+        Timestamp started = rs.getTimestamp("started_at");
+        Timestamp finished = rs.getTimestamp("finished_at");
+        return new JobRow(
+                rs.getLong("id"),
+                rs.getDate("period_start").toLocalDate(),
+                rs.getDate("period_end").toLocalDate(),
+                rs.getString("status"),
+                rs.getInt("total_sellers"),
+                rs.getInt("done_sellers"),
+                rs.getLong("total_rows"),
+                rs.getLong("done_rows"),
+                rs.getString("error"),
+                started == null ? null : started.toInstant(),
+                finished == null ? null : finished.toInstant()
+        );
+    }
+}
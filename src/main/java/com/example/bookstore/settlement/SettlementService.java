@@ -4,13 +4,13 @@ package com.example.bookstore.settlement;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
 import com.example.bookstore.settlement.dto.SettlementDtos.*;
-import com.example.bookstore.user.User;
-import com.example.bookstore.user.UserRepository;
-import com.example.bookstore.user.UserRole;
+import com.example.bookstore.security.SellerIdentity;
+import com.example.bookstore.security.UserPrincipal;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
@@ -24,94 +24,46 @@ public class SettlementService {
     private final SettlementRepository settlementRepository;
     private final SettlementItemRepository settlementItemRepository;
     private final JdbcTemplate jdbcTemplate;
-    private final UserRepository userRepository;
+    private final SellerIdentity sellerIdentity;
+    private final SettlementEngine settlementEngine;
 
     public SettlementService(SettlementRepository settlementRepository,
                              SettlementItemRepository settlementItemRepository,
                              JdbcTemplate jdbcTemplate,
-                             UserRepository userRepository) {
+                             SellerIdentity sellerIdentity,
+                             SettlementEngine settlementEngine) {
         this.settlementRepository = settlementRepository;
         this.settlementItemRepository = settlementItemRepository;
         this.jdbcTemplate = jdbcTemplate;
-        this.userRepository = userRepository;
+        this.sellerIdentity = sellerIdentity;
+        this.settlementEngine = settlementEngine;
     }
 
-    @Transactional
-    public CreateSettlementResponse create(LocalDate start, LocalDate end) {
+    /**
+     * 기간 정산 생성 (스트리밍 1-pass, 판매자별/청크별 커밋 → 트랜잭션 밖에서 실행)
+     * - 이전 실행이 중간에 끊겨 남은 draft 는 폐기하고, 이미 확정된 판매자 정산은 재사용(건너뜀)
+     * - 새로 만들 정산이 하나도 없고 확정된 정산이 있으면 이미 존재 → CONFLICT
+     */
+    public synchronized CreateSettlementResponse create(LocalDate start, LocalDate end) {
         if (end.isBefore(start)) {
             throw new ApiException(ErrorCode.VALIDATION_FAILED, "period_end는 period_start 이후여야 합니다.");
         }
 
-        LocalDate endPlus = end.plusDays(1);
-
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
-                """
-                select oi.seller_id as seller_id,
-                       sum(oi.subtotal_cents) as gross_cents
-                  from order_items oi
-                  join orders o on o.id = oi.order_id
-                 where o.created_at >= ?
-                   and o.created_at < ?
-                   and o.status in ('paid','shipped','delivered')
-                 group by oi.seller_id
-                """,
-                Date.valueOf(start), Date.valueOf(endPlus)
-        );
-
-        List<Long> createdIds = new ArrayList<>();
-        for (Map<String, Object> row : rows) {
-            Long sellerId = ((Number) row.get("seller_id")).longValue();
-            int gross = ((Number) row.get("gross_cents")).intValue();
-
-            int bps = fetchCommissionBps(sellerId);
-            int commission = calcCommission(gross, bps);
-            int net = gross - commission;
-
-            Settlement s = new Settlement();
-            s.setSellerId(sellerId);
-            s.setPeriodStart(start);
-            s.setPeriodEnd(end);
-            s.setStatus(SettlementStatus.pending);
-            s.setTotalGrossCents(gross);
-            s.setTotalCommissionCents(commission);
-            s.setTotalNetCents(net);
-
-            Settlement saved = settlementRepository.save(s);
-            createdIds.add(saved.getId());
-
-            List<Map<String, Object>> items = jdbcTemplate.queryForList(
-                    """
-                    select oi.id as order_item_id,
-                           oi.subtotal_cents as gross_cents
-                      from order_items oi
-                      join orders o on o.id = oi.order_id
-                     where o.created_at >= ?
-                       and o.created_at < ?
-                       and o.status in ('paid','shipped','delivered')
-                       and oi.seller_id = ?
-                    """,
-                    Date.valueOf(start), Date.valueOf(endPlus), sellerId
-            );
-
-            List<SettlementItem> toSave = new ArrayList<>();
-            for (Map<String, Object> it : items) {
-                Long orderItemId = ((Number) it.get("order_item_id")).longValue();
-                int itemGross = ((Number) it.get("gross_cents")).intValue();
-                int itemCommission = calcCommission(itemGross, bps);
-                int itemNet = itemGross - itemCommission;
-
-                SettlementItem si = new SettlementItem();
-                si.setSettlementId(saved.getId());
-                si.setOrderItemId(orderItemId);
-                si.setSellerId(sellerId);
-                si.setGrossCents(itemGross);
-                si.setCommissionCents(itemCommission);
-                si.setNetCents(itemNet);
-                toSave.add(si);
-            }
-            settlementItemRepository.saveAll(toSave);
+        Set<Long> finalizedSellers = new HashSet<>();
+        List<Long> drafts = new ArrayList<>();
+        jdbcTemplate.query(
+                "select id, seller_id, status from settlements where period_start = ? and period_end = ?",
+                (RowCallbackHandler) rs -> {
+                    if ("draft".equals(rs.getString("status"))) drafts.add(rs.getLong("id"));
+                    else finalizedSellers.add(rs.getLong("seller_id"));
+                },
+                Date.valueOf(start), Date.valueOf(end));
+        settlementEngine.discard(drafts);
+
+        List<Long> createdIds = settlementEngine.run(start, end, finalizedSellers);
+        if (createdIds.isEmpty() && !finalizedSellers.isEmpty()) {
+            throw new ApiException(ErrorCode.CONFLICT, "해당 기간의 정산이 이미 존재합니다.");
         }
-
         return new CreateSettlementResponse(createdIds.size(), createdIds);
     }
 
@@ -125,8 +77,8 @@ public class SettlementService {
      * SELLER: 본인 정산 목록
      */
     @Transactional
-    public Page<Settlement> listForSeller(Long sellerUserId, SettlementStatus status, Pageable pageable) {
-        Long sellerId = requireSellerId(sellerUserId);
+    public Page<Settlement> listForSeller(UserPrincipal me, SettlementStatus status, Pageable pageable) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
         if (status == null) return settlementRepository.findBySellerId(sellerId, pageable);
         return settlementRepository.findBySellerIdAndStatus(sellerId, status, pageable);
     }
@@ -154,8 +106,8 @@ public class SettlementService {
      * SELLER: 본인 정산 상세
      */
     @Transactional
-    public SettlementDetailDto detailForSeller(Long sellerUserId, Long settlementId) {
-        Long sellerId = requireSellerId(sellerUserId);
+    public SettlementDetailDto detailForSeller(UserPrincipal me, Long settlementId) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
         Settlement s = settlementRepository.findById(settlementId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "정산을 찾을 수 없습니다."));
 
@@ -181,8 +133,8 @@ public class SettlementService {
     }
 
     @Transactional
-    public SettlementSummaryDto sellerConfirm(Long sellerUserId, Long settlementId) {
-        Long sellerId = requireSellerId(sellerUserId);
+    public SettlementSummaryDto sellerConfirm(UserPrincipal me, Long settlementId) {
+        Long sellerId = sellerIdentity.requireSellerId(me);
         Settlement s = settlementRepository.findById(settlementId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "정산을 찾을 수 없습니다."));
 
@@ -245,30 +197,4 @@ public SettlementSummaryDto approve(Long settlementId) {
                 s.getUpdatedAt()
         );
     }
-
-    private int fetchCommissionBps(Long sellerId) {
-        Integer bps = jdbcTemplate.query(
-                "select commission_bps from sellers where id = ?",
-                rs -> rs.next() ? rs.getInt(1) : null,
-                sellerId
-        );
-        return bps == null ? 0 : bps;
-    }
-
-    private int calcCommission(int grossCents, int bps) {
-        long v = (long) grossCents * (long) bps;
-        return (int) (v / 10000L); // floor
-    }
-
-    private Long requireSellerId(Long sellerUserId) {
-        if (sellerUserId == null) {
-            throw new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다.");
-        }
-        User me = userRepository.findByIdAndDeletedAtIsNull(sellerUserId)
-                .orElseThrow(() -> new ApiException(ErrorCode.UNAUTHORIZED, "인증이 필요합니다."));
-        if (me.getRole() != UserRole.seller || me.getSellerId() == null) {
-            throw new ApiException(ErrorCode.FORBIDDEN, "판매자 권한이 없습니다.");
-        }
-        return me.getSellerId();
-    }
 }
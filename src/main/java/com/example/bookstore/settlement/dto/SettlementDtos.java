@@ -48,4 +48,20 @@ public class SettlementDtos {
             SettlementSummaryDto settlement,
             List<SettlementItemDto> items
     ) {}
+
+    public record SettlementJobDto(
+            Long job_id,
+            LocalDate period_start,
+            LocalDate period_end,
+            String status,
+            int total_sellers,
+            int done_sellers,
+            long total_rows,
+            long done_rows,
+            Double rows_per_sec,
+            Long eta_seconds,
+            String error,
+            Instant started_at,
+            Instant finished_at
+    ) {}
 }
@@ -0,0 +1,182 @@
+package com.example.bookstore.stats;
+
+import com.example.bookstore.order.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 일별 매출 롤업(sales_daily / sales_daily_book / sales_daily_seller) 유지.
+ * - 마감(close): closed_through 다음 날부터 어제까지 하루 단위로 orders 를 집계해 롤업을 다시 씀
+ * - 마감된 날짜의 주문이 집계 대상 상태(paid/shipped/delivered)로 들어오거나 나가면 같은 트랜잭션에서 ± delta 반영
+ * - 마감 전(오늘 포함) 주문은 롤업을 건드리지 않는다 → 통계 조회 시 orders 실시간 집계(live tail)로 합산
+ *   (당일 주문마다 같은 롤업 행을 갱신하는 hot row 경합을 피함)
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    static final Set<OrderStatus> COUNTED = EnumSet.of(OrderStatus.paid, OrderStatus.shipped, OrderStatus.delivered);
+
+    private static final String DELTA_DAILY_SQL = """
+            insert into sales_daily (d, gross_cents, order_count)
+            select cast(o.created_at as date), ? * o.total_amount_cents, ?
+              from orders o
+             where o.id = ?
+               and cast(o.created_at as date) <= ?
+            on duplicate key update gross_cents = gross_cents + values(gross_cents),
+                                    order_count = order_count + values(order_count)
+            """;
+
+    private static final String DELTA_BOOK_SQL = """
+            insert into sales_daily_book (d, book_id, gross_cents, quantity, order_count)
+            select cast(o.created_at as date), oi.book_id, ? * sum(oi.subtotal_cents), ? * sum(oi.quantity), ?
+              from orders o
+              join order_items oi on oi.order_id = o.id
+             where o.id = ?
+               and cast(o.created_at as date) <= ?
+             group by cast(o.created_at as date), oi.book_id
+            on duplicate key update gross_cents = gross_cents + values(gross_cents),
+                                    quantity = quantity + values(quantity),
+                                    order_count = order_count + values(order_count)
+            """;
+
+    private static final String DELTA_SELLER_SQL = """
+            insert into sales_daily_seller (d, seller_id, gross_cents, quantity, order_count)
+            select cast(o.created_at as date), oi.seller_id, ? * sum(oi.subtotal_cents), ? * sum(oi.quantity), ?
+              from orders o
+              join order_items oi on oi.order_id = o.id
+             where o.id = ?
+               and cast(o.created_at as date) <= ?
+             group by cast(o.created_at as date), oi.seller_id
+            on duplicate key update gross_cents = gross_cents + values(gross_cents),
+                                    quantity = quantity + values(quantity),
+                                    order_count = order_count + values(order_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** 롤업이 반영된 마지막 날짜 (null 이면 아직 없음) */
+    public LocalDate closedThrough() {
+        Date d = jdbcTemplate.queryForObject("select closed_through from sales_rollup_state where id = 1", Date.class);
+        return d == null ? null : d.toLocalDate();
+    }
+
+    /**
+     * 주문 상태 변경 시 호출 (호출측 트랜잭션 안에서).
+     * 집계 대상 여부가 바뀌고, 주문일이 이미 마감된 날짜일 때만 delta 를 반영한다.
+     */
+    public void onStatusChange(Long orderId, OrderStatus prev, OrderStatus next) {
+        boolean before = COUNTED.contains(prev);
+        boolean after = COUNTED.contains(next);
+        if (before == after) return;
+
+        // 마감 작업(for update)과 직렬화
+        Date closed = jdbcTemplate.queryForObject(
+                "select closed_through from sales_rollup_state where id = 1 lock in share mode", Date.class);
+        if (closed == null) return;
+
+        int sign = after ? 1 : -1;
+        jdbcTemplate.update(DELTA_DAILY_SQL, sign, sign, orderId, closed);
+        jdbcTemplate.update(DELTA_BOOK_SQL, sign, sign, sign, orderId, closed);
+        jdbcTemplate.update(DELTA_SELLER_SQL, sign, sign, sign, orderId, closed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        try {
+            closeThroughYesterday();
+        } catch (Exception e) {
+            log.warn("sales_rollup_catch_up_failed reason={}", e.getMessage());
+        }
+    }
+
+    /** 마감되지 않은 지난 날짜를 하루씩 마감 (날짜마다 별도 트랜잭션) */
+    @Scheduled(cron = "${app.stats.rollup.cron:0 5 0 * * *}")
+    public void closeThroughYesterday() {
+        LocalDate yesterday = jdbcTemplate.queryForObject("select current_date", Date.class).toLocalDate().minusDays(1);
+        LocalDate closed = closedThrough();
+
+        LocalDate from;
+        if (closed != null) {
+            from = closed.plusDays(1);
+        } else {
+            Date first = jdbcTemplate.queryForObject("select min(cast(created_at as date)) from orders", Date.class);
+            from = first == null ? yesterday.plusDays(1) : first.toLocalDate();
+        }
+
+        int days = 0;
+        for (LocalDate d = from; !d.isAfter(yesterday); d = d.plusDays(1)) {
+            closeDay(d);
+            days++;
+        }
+        if (days == 0 && closed == null) {
+            // 주문이 하나도 없으면 마감 기준만 세움
+            jdbcTemplate.update("update sales_rollup_state set closed_through = ? where id = 1", Date.valueOf(yesterday));
+        }
+        if (days > 0) log.info("sales_rollup_closed from={} to={} days={}", from, yesterday, days);
+    }
+
+    void closeDay(LocalDate d) {
+        Date day = Date.valueOf(d);
+        Date next = Date.valueOf(d.plusDays(1));
+
+        tx.executeWithoutResult(s -> {
+            jdbcTemplate.queryForList("select closed_through from sales_rollup_state where id = 1 for update");
+
+            for (String table : List.of("sales_daily", "sales_daily_book", "sales_daily_seller")) {
+                jdbcTemplate.update("delete from " + table + " where d = ?", day);
+            }
+
+            jdbcTemplate.update("""
+                    insert into sales_daily (d, gross_cents, order_count)
+                    select ?, coalesce(sum(o.total_amount_cents), 0), count(*)
+                      from orders o
+                     where o.created_at >= ? and o.created_at < ?
+                       and o.status in ('paid','shipped','delivered')
+                    having count(*) > 0
+                    """, day, day, next);
+
+            jdbcTemplate.update("""
+                    insert into sales_daily_book (d, book_id, gross_cents, quantity, order_count)
+                    select ?, oi.book_id, sum(oi.subtotal_cents), sum(oi.quantity), count(distinct o.id)
+                      from orders o
+                      join order_items oi on oi.order_id = o.id
+                     where o.created_at >= ? and o.created_at < ?
+                       and o.status in ('paid','shipped','delivered')
+                     group by oi.book_id
+                    """, day, day, next);
+
+            jdbcTemplate.update("""
+                    insert into sales_daily_seller (d, seller_id, gross_cents, quantity, order_count)
+                    select ?, oi.seller_id, sum(oi.subtotal_cents), sum(oi.quantity), count(distinct o.id)
+                      from orders o
+                      join order_items oi on oi.order_id = o.id
+                     where o.created_at >= ? and o.created_at < ?
+                       and o.status in ('paid','shipped','delivered')
+                     group by oi.seller_id
+                    """, day, day, next);
+
+            jdbcTemplate.update("update sales_rollup_state set closed_through = ? where id = 1", day);
+        });
+    }
+}
@@ -1,106 +1,163 @@
-
 package com.example.bookstore.stats;
 
 import com.example.bookstore.stats.dto.StatsDtos.*;
 import jakarta.transaction.Transactional;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
 
+/**
+ * 관리자 통계.
+ * - closed_through 까지는 일별 롤업(O(days)), 이후(오늘 포함)는 orders 실시간 집계(live tail)로 합산
+ */
 @Service
 public class StatsService {
 
+    // 랭킹용 구간별 행: k(도서/판매자 id), qty, amt
+    private static final String BOOK_ROLLUP_PART = """
+            select x.book_id as k, x.quantity as qty, x.gross_cents as amt
+              from sales_daily_book x
+             where x.d >= ? and x.d <= ?
+            """;
+
+    private static final String BOOK_LIVE_PART = """
+            select oi.book_id as k, oi.quantity as qty, oi.subtotal_cents as amt
+              from order_items oi
+              join orders o on o.id = oi.order_id
+             where o.created_at >= ?
+               and o.created_at < ?
+               and o.status in ('paid','shipped','delivered')
+            """;
+
+    private static final String SELLER_ROLLUP_PART = """
+            select x.seller_id as k, x.quantity as qty, x.gross_cents as amt
+              from sales_daily_seller x
+             where x.d >= ? and x.d <= ?
+            """;
+
+    private static final String SELLER_LIVE_PART = """
+            select oi.seller_id as k, oi.quantity as qty, oi.subtotal_cents as amt
+              from order_items oi
+              join orders o on o.id = oi.order_id
+             where o.created_at >= ?
+               and o.created_at < ?
+               and o.status in ('paid','shipped','delivered')
+            """;
+
     private final JdbcTemplate jdbcTemplate;
+    private final SalesRollupService rollupService;
 
-    public StatsService(JdbcTemplate jdbcTemplate) {
+    public StatsService(JdbcTemplate jdbcTemplate, SalesRollupService rollupService) {
         this.jdbcTemplate = jdbcTemplate;
+        this.rollupService = rollupService;
+    }
+
+    /** [from, to] 를 롤업 구간 / live 구간으로 분리 (비어 있으면 null) */
+    private record Ranges(LocalDate rollupFrom, LocalDate rollupTo, LocalDate liveFrom, LocalDate liveTo) {
+        boolean hasRollup() { return rollupFrom != null; }
+        boolean hasLive() { return liveFrom != null; }
     }
 
     @Transactional
     public DailySalesPayload dailySales(LocalDate from, LocalDate to) {
-        LocalDate endPlus = to.plusDays(1);
-        List<DailySalesDto> items = jdbcTemplate.query(
-                """
-                select date(o.created_at) as d,
-                       sum(o.total_amount_cents) as gross,
-                       count(*) as cnt
-                  from orders o
-                 where o.created_at >= ?
-                   and o.created_at < ?
-                   and o.status in ('paid','shipped','delivered')
-                 group by date(o.created_at)
-                 order by d asc
-                """,
-                (rs, rowNum) -> new DailySalesDto(
-                        rs.getDate("d").toLocalDate(),
-                        rs.getInt("gross"),
-                        rs.getInt("cnt")
-                ),
-                Date.valueOf(from), Date.valueOf(endPlus)
-        );
+        Ranges r = split(from, to);
+        List<DailySalesDto> items = new ArrayList<>();
+
+        if (r.hasRollup()) {
+            items.addAll(jdbcTemplate.query(
+                    """
+                    select d, gross_cents as gross, order_count as cnt
+                      from sales_daily
+                     where d >= ? and d <= ?
+                     order by d asc
+                    """,
+                    (rs, rowNum) -> new DailySalesDto(rs.getDate("d").toLocalDate(), rs.getInt("gross"), rs.getInt("cnt")),
+                    Date.valueOf(r.rollupFrom()), Date.valueOf(r.rollupTo())
+            ));
+        }
+
+        if (r.hasLive()) {
+            items.addAll(jdbcTemplate.query(
+                    """
+                    select cast(o.created_at as date) as d,
+                           sum(o.total_amount_cents) as gross,
+                           count(*) as cnt
+                      from orders o
+                     where o.created_at >= ?
+                       and o.created_at < ?
+                       and o.status in ('paid','shipped','delivered')
+                     group by cast(o.created_at as date)
+                     order by d asc
+                    """,
+                    (rs, rowNum) -> new DailySalesDto(rs.getDate("d").toLocalDate(), rs.getInt("gross"), rs.getInt("cnt")),
+                    Date.valueOf(r.liveFrom()), Date.valueOf(r.liveTo().plusDays(1))
+            ));
+        }
         return new DailySalesPayload(items);
     }
 
     @Transactional
     public TopBooksPayload topBooks(LocalDate from, LocalDate to, int limit) {
-        int l = Math.min(Math.max(limit, 1), 50);
-        LocalDate endPlus = to.plusDays(1);
-        List<TopBookDto> items = jdbcTemplate.query(
-                """
-                select oi.book_id as book_id,
-                       b.title as title,
-                       sum(oi.quantity) as sold_qty,
-                       sum(oi.subtotal_cents) as gross
-                  from order_items oi
-                  join orders o on o.id = oi.order_id
-                  join books b on b.id = oi.book_id
-                 where o.created_at >= ?
-                   and o.created_at < ?
-                   and o.status in ('paid','shipped','delivered')
-                 group by oi.book_id, b.title
-                 order by gross desc
-                 limit ?
-                """,
-                (rs, rowNum) -> new TopBookDto(
-                        rs.getLong("book_id"),
-                        rs.getString("title"),
-                        rs.getInt("sold_qty"),
-                        rs.getInt("gross")
-                ),
-                Date.valueOf(from), Date.valueOf(endPlus), l
-        );
+        List<TopBookDto> items = top(split(from, to), clampLimit(limit),
+                BOOK_ROLLUP_PART, BOOK_LIVE_PART, "join books l on l.id = t.k", "l.title",
+                (rs, i) -> new TopBookDto(rs.getLong("k"), rs.getString("label"), rs.getInt("sold_qty"), rs.getInt("gross")));
         return new TopBooksPayload(items);
     }
 
     @Transactional
     public TopSellersPayload topSellers(LocalDate from, LocalDate to, int limit) {
-        int l = Math.min(Math.max(limit, 1), 50);
-        LocalDate endPlus = to.plusDays(1);
-        List<TopSellerDto> items = jdbcTemplate.query(
-                """
-                select oi.seller_id as seller_id,
-                       s.name as name,
-                       sum(oi.subtotal_cents) as gross
-                  from order_items oi
-                  join orders o on o.id = oi.order_id
-                  join sellers s on s.id = oi.seller_id
-                 where o.created_at >= ?
-                   and o.created_at < ?
-                   and o.status in ('paid','shipped','delivered')
-                 group by oi.seller_id, s.name
-                 order by gross desc
-                 limit ?
-                """,
-                (rs, rowNum) -> new TopSellerDto(
-                        rs.getLong("seller_id"),
-                        rs.getString("name"),
-                        rs.getInt("gross")
-                ),
-                Date.valueOf(from), Date.valueOf(endPlus), l
-        );
+        List<TopSellerDto> items = top(split(from, to), clampLimit(limit),
+                SELLER_ROLLUP_PART, SELLER_LIVE_PART, "join sellers l on l.id = t.k", "l.name",
+                (rs, i) -> new TopSellerDto(rs.getLong("k"), rs.getString("label"), rs.getInt("gross")));
         return new TopSellersPayload(items);
     }
+
+    private static int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), 50);
+    }
+
+    /**
+     * 롤업 구간과 live 구간을 union all 로 합친 뒤 한 번에 group by + order by gross desc limit.
+     * → 정렬/절단을 DB 가 하므로 애플리케이션으로 오는 행은 limit 건
+     */
+    private <T> List<T> top(Ranges r, int limit, String rollupPart, String livePart,
+                            String labelJoin, String labelColumn, RowMapper<T> mapper) {
+        List<String> parts = new ArrayList<>(2);
+        List<Object> args = new ArrayList<>(5);
+        if (r.hasRollup()) {
+            parts.add(rollupPart);
+            args.add(Date.valueOf(r.rollupFrom()));
+            args.add(Date.valueOf(r.rollupTo()));
+        }
+        if (r.hasLive()) {
+            parts.add(livePart);
+            args.add(Date.valueOf(r.liveFrom()));
+            args.add(Date.valueOf(r.liveTo().plusDays(1)));
+        }
+        args.add(limit);
+
+        String sql = "select t.k as k, " + labelColumn + " as label,"
+                + " sum(t.qty) as sold_qty, sum(t.amt) as gross"
+                + " from (" + String.join(" union all ", parts) + ") t "
+                + labelJoin
+                + " group by t.k, " + labelColumn
+                + " order by gross desc, t.k asc"
+                + " limit ?";
+        return jdbcTemplate.query(sql, mapper, args.toArray());
+    }
+
+    private Ranges split(LocalDate from, LocalDate to) {
+        LocalDate closed = rollupService.closedThrough();
+        if (closed == null || from.isAfter(closed)) {
+            return new Ranges(null, null, from, to);
+        }
+        LocalDate rollupTo = to.isBefore(closed) ? to : closed;
+        LocalDate liveFrom = closed.plusDays(1);
+        boolean live = !liveFrom.isAfter(to);
+        return new Ranges(from, rollupTo, live ? liveFrom : null, live ? to : null);
+    }
 }
@@ -0,0 +1,172 @@
+package com.example.bookstore.stats;
+
+import com.example.bookstore.activity.ActivityEventListener;
+import com.example.bookstore.activity.ActivityEventPipeline.Event;
+import com.example.bookstore.activity.ActivityEventPipeline.Kind;
+import com.example.bookstore.common.HyperLogLog;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 도서/판매자별 일별 고유 조회자(HyperLogLog) 유지 → unique_viewer_sketches.
+ * - 조회 이벤트를 파이프라인에서 받아 (날짜, 도서) / (날짜, 판매자) sketch 에 방문자 키를 추가
+ *   방문자 키: 로그인 사용자는 user_id, 비로그인은 ip
+ * - 주기적으로 메모리 sketch 를 DB sketch 와 merge(레지스터 max)해 저장하고 그날 추정치도 함께 갱신
+ *   → 일 단위 조회는 estimate 컬럼 O(1), 기간 조회는 날짜별 sketch merge
+ * - merge 는 멱등이므로 flush 가 실패해도 메모리 sketch 를 되돌려 다음 주기에 다시 반영하면 된다
+ */
+@Component
+public class UniqueViewerTracker implements ActivityEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueViewerTracker.class);
+
+    public enum Scope { book, seller }
+
+    record Key(LocalDate d, Scope scope, long id) {}
+
+    private static final String UPSERT_SQL = """
+            insert into unique_viewer_sketches (d, scope, scope_id, registers, estimate)
+            values (?, ?, ?, ?, ?)
+            on duplicate key update registers = values(registers), estimate = values(estimate)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate tx;
+
+    // 도서 → 판매자 (도서 판매자는 바뀌지 않음)
+    private final Cache<Long, Long> sellerOfBook = Caffeine.newBuilder().maximumSize(100_000).build();
+    // 키별 sketch 는 sparse 로 시작 → 조회자가 적은 도서는 수십 바이트
+    private Map<Key, HyperLogLog> pending = new HashMap<>();
+
+    public UniqueViewerTracker(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void onEvents(List<Event> events) {
+        List<Event> views = events.stream().filter(e -> e.kind() == Kind.book_view).toList();
+        if (views.isEmpty()) return;
+        Map<Long, Long> sellers = sellersOf(views.stream().map(Event::bookId).toList());
+
+        synchronized (this) {
+            for (Event e : views) {
+                String visitor = e.userId() != null ? "u:" + e.userId()
+                        : e.ipAddress() != null ? "ip:" + e.ipAddress() : null;
+                if (visitor == null) continue;
+
+                long hash = HyperLogLog.hash64(visitor);
+                LocalDate d = e.occurredAt().toLocalDateTime().toLocalDate();
+                sketch(new Key(d, Scope.book, e.bookId())).addHash(hash);
+                Long sellerId = sellers.get(e.bookId());
+                if (sellerId != null) sketch(new Key(d, Scope.seller, sellerId)).addHash(hash);
+            }
+        }
+    }
+
+    private HyperLogLog sketch(Key key) {
+        return pending.computeIfAbsent(key, k -> new HyperLogLog());
+    }
+
+    private Map<Long, Long> sellersOf(Collection<Long> bookIds) {
+        Map<Long, Long> out = new HashMap<>(sellerOfBook.getAllPresent(bookIds));
+        Set<Long> missing = new HashSet<>(bookIds);
+        missing.removeAll(out.keySet());
+        if (!missing.isEmpty()) {
+            namedJdbc.query("select id, seller_id from books where id in (:ids)",
+                    new MapSqlParameterSource("ids", missing),
+                    (RowCallbackHandler) rs -> out.put(rs.getLong("id"), rs.getLong("seller_id")));
+            missing.forEach(id -> {
+                Long s = out.get(id);
+                if (s != null) sellerOfBook.put(id, s);
+            });
+        }
+        return out;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.unique-viewers.flush-interval-ms:60000}")
+    public void flush() {
+        Map<Key, HyperLogLog> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        try {
+            tx.executeWithoutResult(s -> batch.entrySet().stream()
+                    .sorted(Comparator.comparing((Map.Entry<Key, HyperLogLog> e) -> e.getKey().d())
+                            .thenComparing(e -> e.getKey().scope())
+                            .thenComparingLong(e -> e.getKey().id()))
+                    .forEach(e -> store(e.getKey(), e.getValue())));
+        } catch (Exception ex) {
+            synchronized (this) {
+                batch.forEach((k, hll) -> sketch(k).merge(hll));
+            }
+            log.warn("unique_viewers_flush_failed sketches={} reason={}", batch.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /** 저장된 sketch 와 merge 후 저장 (PK 순서로 잠금) */
+    private void store(Key key, HyperLogLog delta) {
+        Date d = Date.valueOf(key.d());
+        List<byte[]> existing = jdbcTemplate.query(
+                "select registers from unique_viewer_sketches where d = ? and scope = ? and scope_id = ? for update",
+                (rs, i) -> rs.getBytes("registers"), d, key.scope().name(), key.id());
+
+        HyperLogLog merged = existing.isEmpty() ? delta : HyperLogLog.fromBytes(existing.get(0));
+        if (!existing.isEmpty()) merged.merge(delta);
+        jdbcTemplate.update(UPSERT_SQL, d, key.scope().name(), key.id(), merged.toBytes(), merged.estimate());
+    }
+
+    // ---------------------------
+    // 조회
+    // ---------------------------
+
+    /** 날짜별 저장된 추정치 (없는 날짜는 0) */
+    public Map<LocalDate, Long> dailyEstimates(Scope scope, long id, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> out = new TreeMap<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) out.put(d, 0L);
+        jdbcTemplate.query("""
+                        select d, estimate from unique_viewer_sketches
+                         where scope = ? and scope_id = ? and d >= ? and d <= ?
+                        """,
+                (RowCallbackHandler) rs -> out.put(rs.getDate("d").toLocalDate(), rs.getLong("estimate")),
+                scope.name(), id, Date.valueOf(from), Date.valueOf(to));
+        return out;
+    }
+
+    /** 기간 전체 고유 조회자 (날짜별 sketch merge) */
+    public long rangeEstimate(Scope scope, long id, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        jdbcTemplate.query("""
+                        select registers from unique_viewer_sketches
+                         where scope = ? and scope_id = ? and d >= ? and d <= ?
+                        """,
+                (RowCallbackHandler) rs -> union.merge(HyperLogLog.fromBytes(rs.getBytes("registers"))),
+                scope.name(), id, Date.valueOf(from), Date.valueOf(to));
+        return union.estimate();
+    }
+}
@@ -6,10 +6,13 @@ import com.example.bookstore.auth.dto.UserPayload;
 import com.example.bookstore.auth.service.TokenService;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.security.DeactivatedUserRegistry;
+import com.example.bookstore.security.PasswordHasher;
 import com.example.bookstore.user.dto.UserDto;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 
@@ -17,13 +20,21 @@ import java.time.Instant;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final TokenService tokenService;
+    private final DeactivatedUserRegistry deactivatedUsers;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readTx;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher, TokenService tokenService,
+                       DeactivatedUserRegistry deactivatedUsers, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.tokenService = tokenService;
+        this.deactivatedUsers = deactivatedUsers;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
     }
 
     @Transactional(readOnly = true)
@@ -33,50 +44,61 @@ public class UserService {
         return new UserPayload(UserDto.from(u));
     }
 
-    @Transactional
+    /**
+     * BCrypt(현재 비밀번호 확인 / 새 비밀번호 해시)는 트랜잭션 밖에서 실행:
+     * 짧은 읽기 트랜잭션 → 해시 → 짧은 쓰기 트랜잭션 (해시하는 동안 DB 커넥션을 잡지 않도록)
+     */
     public ProfileUpdatePayload updateMe(Long userId, MePatchRequest req) {
-        User u = userRepository.findByIdAndDeletedAtIsNull(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리소스를 찾을 수 없습니다."));
+        User before = readTx.execute(s -> requireActive(userId));
+        String stored = before.getPassword();
 
-        boolean sensitiveChange = (req.email() != null && !req.email().isBlank() && !req.email().equals(u.getEmail()))
-                || (req.newPassword() != null && !req.newPassword().isBlank());
+        boolean emailChange = req.email() != null && !req.email().isBlank() && !req.email().equals(before.getEmail());
+        boolean passwordChange = req.newPassword() != null && !req.newPassword().isBlank();
+        boolean sensitiveChange = emailChange || passwordChange;
 
         if (sensitiveChange) {
             if (req.currentPassword() == null || req.currentPassword().isBlank()) {
                 throw new ApiException(ErrorCode.VALIDATION_FAILED, "입력값이 올바르지 않습니다.",
                         java.util.Map.of("current_password", "email 또는 new_password 변경 시 필수"));
             }
-            if (!passwordEncoder.matches(req.currentPassword(), u.getPassword())) {
+            if (!passwordHasher.matches(req.currentPassword(), stored)) {
                 throw new ApiException(ErrorCode.UNAUTHORIZED, "현재 비밀번호가 올바르지 않습니다.");
             }
         }
+        String encoded = passwordChange ? passwordHasher.encode(req.newPassword()) : null;
 
-        if (req.email() != null && !req.email().isBlank() && !req.email().equals(u.getEmail())) {
-            if (userRepository.existsByEmailAndDeletedAtIsNull(req.email())) {
-                throw new ApiException(ErrorCode.CONFLICT, "요청이 현재 리소스 상태와 충돌합니다.");
+        return tx.execute(s -> {
+            User u = requireActive(userId);
+            // 확인한 비밀번호가 그 사이 바뀌었으면 확인 결과를 믿을 수 없음
+            if (sensitiveChange && !stored.equals(u.getPassword())) {
+                throw new ApiException(ErrorCode.UNAUTHORIZED, "현재 비밀번호가 올바르지 않습니다.");
             }
-            u.setEmail(req.email());
-        }
 
-        if (req.name() != null) u.setName(req.name());
-        if (req.address() != null) u.setAddress(req.address());
-        if (req.phone() != null) u.setPhone(req.phone());
-        if (req.region() != null) u.setRegion(req.region());
-        if (req.gender() != null) u.setGender(req.gender());
-        if (req.birthdate() != null) u.setBirthdate(req.birthdate());
+            if (emailChange && !req.email().equals(u.getEmail())) {
+                if (userRepository.existsByEmailAndDeletedAtIsNull(req.email())) {
+                    throw new ApiException(ErrorCode.CONFLICT, "요청이 현재 리소스 상태와 충돌합니다.");
+                }
+                u.setEmail(req.email());
+            }
 
-        if (req.newPassword() != null && !req.newPassword().isBlank()) {
-            u.setPassword(passwordEncoder.encode(req.newPassword()));
-        }
+            if (req.name() != null) u.setName(req.name());
+            if (req.address() != null) u.setAddress(req.address());
+            if (req.phone() != null) u.setPhone(req.phone());
+            if (req.region() != null) u.setRegion(req.region());
+            if (req.gender() != null) u.setGender(req.gender());
+            if (req.birthdate() != null) u.setBirthdate(req.birthdate());
 
-        // 토큰 회전(요건): email/newPassword 변경 시 refresh 전부 폐기 후 재발급
-        if (sensitiveChange) {
-            tokenService.revokeAllForUser(userId);
-            TokenService.TokenPair pair = tokenService.issue(u);
-            return new ProfileUpdatePayload(UserDto.from(u), pair.accessToken(), pair.refreshToken());
-        }
+            if (encoded != null) u.setPassword(encoded);
+
+            // 토큰 회전(요건): email/newPassword 변경 시 refresh 전부 폐기 후 재발급
+            if (sensitiveChange) {
+                tokenService.revokeAllForUser(userId);
+                TokenService.TokenPair pair = tokenService.issue(u);
+                return new ProfileUpdatePayload(UserDto.from(u), pair.accessToken(), pair.refreshToken());
+            }
 
-        return new ProfileUpdatePayload(UserDto.from(u), null, null);
+            return new ProfileUpdatePayload(UserDto.from(u), null, null);
+        });
     }
 
     @Transactional
@@ -85,6 +107,7 @@ public class UserService {
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리소스를 찾을 수 없습니다."));
         u.setDeletedAt(Instant.now());
         tokenService.revokeAllForUser(userId);
+        deactivatedUsers.markAfterCommit(userId);
     }
 
     // Admin
@@ -94,5 +117,11 @@ public class UserService {
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리소스를 찾을 수 없습니다."));
         u.setDeletedAt(Instant.now());
         tokenService.revokeAllForUser(userId);
+        deactivatedUsers.markAfterCommit(userId);
+    }
+
+    private User requireActive(Long userId) {
+        return userRepository.findByIdAndDeletedAtIsNull(userId)
+                .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "리소스를 찾을 수 없습니다."));
     }
 }
@@ -1,5 +1,6 @@
 package com.example.bookstore.wishlist;
 
+import com.example.bookstore.activity.ActivityEventPipeline;
 import com.example.bookstore.book.BookRepository;
 import com.example.bookstore.common.ApiException;
 import com.example.bookstore.common.ErrorCode;
@@ -14,10 +15,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class WishlistService {
     private final WishlistRepository wishlistRepository;
     private final BookRepository bookRepository;
+    private final ActivityEventPipeline activityEvents;
 
-    public WishlistService(WishlistRepository wishlistRepository, BookRepository bookRepository) {
+    public WishlistService(WishlistRepository wishlistRepository, BookRepository bookRepository,
+                           ActivityEventPipeline activityEvents) {
         this.wishlistRepository = wishlistRepository;
         this.bookRepository = bookRepository;
+        this.activityEvents = activityEvents;
     }
 
     @Transactional(readOnly = true)
@@ -41,6 +45,7 @@ public class WishlistService {
 
         try {
             WishlistItem saved = wishlistRepository.save(item);
+            activityEvents.recordWishlistAfterCommit(userId, bookId, "add");
             return new WishlistItemDto(saved.getBookId(), saved.getCreatedAt());
         } catch (DataIntegrityViolationException e) {
             throw new ApiException(ErrorCode.CONFLICT, "이미 위시리스트에 존재합니다.");
@@ -53,5 +58,6 @@ public class WishlistService {
             throw new ApiException(ErrorCode.NOT_FOUND, "위시리스트 항목을 찾을 수 없습니다.");
         }
         wishlistRepository.deleteByUserIdAndBookId(userId, bookId);
+        activityEvents.recordWishlistAfterCommit(userId, bookId, "remove");
     }
 }
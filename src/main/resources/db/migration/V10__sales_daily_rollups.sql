@@ -0,0 +1,31 @@
+-- V10: 일별 매출 롤업 (closed_through 까지는 롤업, 이후는 orders 실시간 집계)
+CREATE TABLE sales_daily (
+  d DATE PRIMARY KEY,
+  gross_cents BIGINT NOT NULL DEFAULT 0,
+  order_count INT NOT NULL DEFAULT 0
+) ENGINE=InnoDB;
+
+CREATE TABLE sales_daily_book (
+  d DATE NOT NULL,
+  book_id BIGINT NOT NULL,
+  gross_cents BIGINT NOT NULL DEFAULT 0,
+  quantity BIGINT NOT NULL DEFAULT 0,
+  order_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (d, book_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE sales_daily_seller (
+  d DATE NOT NULL,
+  seller_id BIGINT NOT NULL,
+  gross_cents BIGINT NOT NULL DEFAULT 0,
+  quantity BIGINT NOT NULL DEFAULT 0,
+  order_count INT NOT NULL DEFAULT 0,
+  PRIMARY KEY (d, seller_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE sales_rollup_state (
+  id TINYINT PRIMARY KEY,
+  closed_through DATE NULL
+) ENGINE=InnoDB;
+
+INSERT INTO sales_rollup_state (id, closed_through) VALUES (1, NULL);
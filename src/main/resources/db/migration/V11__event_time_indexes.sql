@@ -0,0 +1,4 @@
+-- V11: 일별 랭킹 계산용 인덱스 (occurred_at 하루 구간 → book_id 별 집계, 커버링)
+CREATE INDEX idx_book_views_time_book ON book_views (occurred_at, book_id);
+CREATE INDEX idx_wishlist_events_time_book ON wishlist_events (occurred_at, action, book_id);
+CREATE INDEX idx_cart_events_time_book ON cart_events (occurred_at, action, book_id);
@@ -0,0 +1,11 @@
+-- V12: 도서/판매자별 일별 고유 조회자 HyperLogLog sketch (registers: sparse 또는 dense 4096+1 바이트, estimate: 해당 일 추정치)
+CREATE TABLE unique_viewer_sketches (
+  d DATE NOT NULL,
+  scope ENUM('book','seller') NOT NULL,
+  scope_id BIGINT NOT NULL,
+  registers VARBINARY(4097) NOT NULL,
+  estimate BIGINT NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+  PRIMARY KEY (d, scope, scope_id),
+  INDEX idx_unique_viewer_sketches_scope (scope, scope_id, d)
+) ENGINE=InnoDB;
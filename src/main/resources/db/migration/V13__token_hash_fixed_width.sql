@@ -0,0 +1,15 @@
+-- V13: refresh token 해시 조회용 고정 폭 컬럼 + unique 인덱스 (TEXT 는 인덱스 불가 → 조회/폐기가 풀스캔)
+-- 해시는 SHA-256 hex(64자) 이므로 ascii CHAR(64) 로 옮긴다.
+ALTER TABLE token
+  ADD COLUMN token_hash_fixed CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NULL AFTER token_hash;
+
+-- 형식이 맞지 않는 행은 조회될 수 없으므로 먼저 정리 (strict 모드에서 64자 초과 값 복사는 Data too long 으로 실패)
+DELETE FROM token WHERE CHAR_LENGTH(token_hash) <> 64;
+
+UPDATE token SET token_hash_fixed = LOWER(token_hash) WHERE CHAR_LENGTH(token_hash) = 64;
+
+ALTER TABLE token DROP COLUMN token_hash;
+
+ALTER TABLE token
+  CHANGE COLUMN token_hash_fixed token_hash CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+  ADD UNIQUE KEY uk_token_hash (token_hash);
@@ -0,0 +1,11 @@
+-- V14: 여러 인스턴스가 공유하는 레이트리밋 카운터 (키별 고정 윈도우 사용량 + 직전 윈도우 사용량 → 슬라이딩 윈도우 근사)
+CREATE TABLE rate_limit_counters (
+  k VARCHAR(191) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+  window_ms BIGINT NOT NULL,
+  window_start BIGINT NOT NULL,
+  used BIGINT NOT NULL,
+  prev_used BIGINT NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+  PRIMARY KEY (k),
+  INDEX idx_rate_limit_counters_updated (updated_at)
+) ENGINE=InnoDB;
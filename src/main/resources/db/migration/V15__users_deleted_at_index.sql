@@ -0,0 +1,2 @@
+-- V15: 비활성 사용자 주기 조회용 인덱스 (deleted_at >= ? 최근 구간 range scan)
+CREATE INDEX idx_users_deleted_at ON users (deleted_at);
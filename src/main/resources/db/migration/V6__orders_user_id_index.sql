@@ -0,0 +1,2 @@
+-- V6: 내 주문 커서(키셋) 페이지네이션용 인덱스 (user_id = ? and id < ? order by id desc)
+CREATE INDEX idx_orders_user_id ON orders (user_id, id);
@@ -0,0 +1,6 @@
+-- V7: 평점 증분 갱신용 합계 컬럼 (average_rating = ratings_sum / ratings_count)
+ALTER TABLE books ADD COLUMN ratings_sum BIGINT NOT NULL DEFAULT 0 AFTER ratings_count;
+
+UPDATE books b
+   SET b.ratings_sum = (SELECT IFNULL(SUM(r.rating), 0) FROM reviews r WHERE r.book_id = b.id),
+       b.ratings_count = (SELECT COUNT(*) FROM reviews r WHERE r.book_id = b.id);
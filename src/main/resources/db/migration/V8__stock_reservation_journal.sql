@@ -0,0 +1,8 @@
+-- V8: 핫 재고 예약 저널 (주문 트랜잭션과 함께 커밋, 주기적으로 books.stock 에 합산 반영 후 삭제)
+CREATE TABLE stock_reservation_journal (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  book_id BIGINT NOT NULL,
+  quantity INT NOT NULL,
+  created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  INDEX idx_stock_reservation_journal_book (book_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,27 @@
+-- V9: 판매자별 병렬 정산 작업 + 체크포인트 (중단된 작업은 같은 기간으로 다시 시작하면 이어서 진행)
+CREATE TABLE settlement_jobs (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  period_start DATE NOT NULL,
+  period_end DATE NOT NULL,
+  status ENUM('running','completed','failed','cancelled') NOT NULL,
+  total_sellers INT NOT NULL DEFAULT 0,
+  done_sellers INT NOT NULL DEFAULT 0,
+  total_rows BIGINT NOT NULL DEFAULT 0,
+  done_rows BIGINT NOT NULL DEFAULT 0,
+  error TEXT NULL,
+  started_at TIMESTAMP(6) NULL DEFAULT CURRENT_TIMESTAMP(6),
+  finished_at TIMESTAMP(6) NULL,
+  UNIQUE KEY uk_settlement_jobs_period (period_start, period_end)
+) ENGINE=InnoDB;
+
+CREATE TABLE settlement_job_sellers (
+  job_id BIGINT NOT NULL,
+  seller_id BIGINT NOT NULL,
+  status ENUM('pending','done') NOT NULL DEFAULT 'pending',
+  expected_rows BIGINT NOT NULL DEFAULT 0,
+  settlement_id BIGINT NULL,
+  done_at TIMESTAMP(6) NULL,
+  PRIMARY KEY (job_id, seller_id),
+  CONSTRAINT fk_settlement_job_sellers_job FOREIGN KEY (job_id)
+    REFERENCES settlement_jobs(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
@@ -0,0 +1,109 @@
+package com.example.bookstore.auth;
+
+import com.example.bookstore.user.User;
+import com.example.bookstore.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 만료/폐기 refresh token 청크 정리: 만료 vs 폐기 보관 기간, 청크 경계를 넘는 lastId 진행.
+ * 공유 H2 의 다른 토큰을 건드리지 않도록 과거 시각을 now 로 쓴다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenPurgeJobTest {
+
+    private static final Instant NOW = Instant.parse("2001-06-01T00:00:00Z");
+
+    @Autowired UserRepository userRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    void purge_deletes_expired_and_old_revoked_across_chunks() {
+        RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(jdbcTemplate, 7);
+        long userId = user();
+
+        long valid = token(userId, NOW.plus(Duration.ofDays(1)), null);
+        long expired = token(userId, NOW.minus(Duration.ofHours(1)), null);
+        long revokedRecently = token(userId, NOW.plus(Duration.ofDays(1)), NOW.minus(Duration.ofDays(6)));
+        long revokedLongAgo = token(userId, NOW.plus(Duration.ofDays(1)), NOW.minus(Duration.ofDays(8)));
+
+        // 첫 청크 뒤에도 대상이 남도록 CHUNK 를 넘겨 심고, 사이사이 살아남을 토큰을 섞는다
+        Set<Long> purgeable = new HashSet<>(List.of(expired, revokedLongAgo));
+        Set<Long> survivors = new HashSet<>(List.of(valid, revokedRecently));
+        for (int i = 0; i < RefreshTokenPurgeJob.CHUNK + 10; i++) {
+            purgeable.add(token(userId, NOW.minus(Duration.ofMinutes(i + 1)), null));
+            if (i % 100 == 0) survivors.add(token(userId, NOW.plus(Duration.ofMinutes(i + 1)), null));
+        }
+
+        long deleted = job.purge(NOW);
+
+        assertTrue(deleted >= purgeable.size(), "deleted=" + deleted);
+        assertEquals(survivors, remaining(userId));
+
+        // 다시 돌려도 남은 토큰은 그대로
+        job.purge(NOW);
+        assertEquals(survivors, remaining(userId));
+    }
+
+    @Test
+    void zero_retention_purges_any_revoked_token() {
+        RefreshTokenPurgeJob job = new RefreshTokenPurgeJob(jdbcTemplate, 0);
+        long userId = user();
+
+        long valid = token(userId, NOW.plus(Duration.ofDays(1)), null);
+        token(userId, NOW.plus(Duration.ofDays(1)), NOW.minus(Duration.ofSeconds(1)));
+
+        job.purge(NOW);
+
+        assertEquals(Set.of(valid), remaining(userId));
+    }
+
+    // ---------------------------
+    // seed helpers
+    // ---------------------------
+    private long user() {
+        User u = new User();
+        u.setEmail("purge-" + UUID.randomUUID() + "@example.com");
+        u.setPassword("x");
+        u.setName("purge");
+        return userRepository.save(u).getId();
+    }
+
+    private long token(long userId, Instant expiresAt, Instant revokedAt) {
+        KeyHolder kh = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into token (user_id, token_hash, expires_at, revoked_at, created_at) values (?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, userId);
+            ps.setString(2, UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", ""));
+            ps.setTimestamp(3, Timestamp.from(expiresAt));
+            ps.setTimestamp(4, revokedAt == null ? null : Timestamp.from(revokedAt));
+            ps.setTimestamp(5, Timestamp.from(NOW.minus(Duration.ofDays(30))));
+            return ps;
+        }, kh);
+        return kh.getKey().longValue();
+    }
+
+    private Set<Long> remaining(long userId) {
+        return new HashSet<>(jdbcTemplate.queryForList("select id from token where user_id = ?", Long.class, userId));
+    }
+}
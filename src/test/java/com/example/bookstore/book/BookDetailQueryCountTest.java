@@ -0,0 +1,115 @@
+package com.example.bookstore.book;
+
+import com.example.bookstore.author.Author;
+import com.example.bookstore.author.AuthorRepository;
+import com.example.bookstore.book.dto.BookDetailDto;
+import com.example.bookstore.book.dto.BookPatchRequest;
+import com.example.bookstore.book.dto.NamedIdDto;
+import com.example.bookstore.category.Category;
+import com.example.bookstore.category.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 도서 상세의 저자/카테고리 로딩이 관계 수와 무관한 고정 쿼리 수인지 확인 (N+1 회귀 방지)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BookDetailQueryCountTest {
+
+    @Autowired BookService bookService;
+    @Autowired BookRepository bookRepository;
+    @Autowired AuthorRepository authorRepository;
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void detail_uses_two_queries_regardless_of_relation_count() {
+        Long bookId = seedBook(3, 3);
+
+        stats.clear();
+        BookDetailDto dto = bookService.detail(bookId);
+
+        assertEquals(2, stats.getPrepareStatementCount()); // 도서 1 + 관계 프로젝션 1
+        assertEquals(3, dto.authors().size());
+        assertEquals(3, dto.categories().size());
+    }
+
+    @Test
+    void relations_for_many_books_use_one_query() {
+        Long a = seedBook(2, 1);
+        Long b = seedBook(1, 2);
+
+        stats.clear();
+        Map<Long, BookService.Relations> rel = bookService.relationsOf(List.of(a, b));
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(2, rel.get(a).authors().size());
+        assertEquals(1, rel.get(a).categories().size());
+        assertEquals(1, rel.get(b).authors().size());
+        assertEquals(2, rel.get(b).categories().size());
+    }
+
+    @Test
+    void detail_after_patch_reuses_entity_graph_without_queries() {
+        Long bookId = seedBook(2, 2);
+
+        Book patched = bookService.patchAdmin(bookId, new BookPatchRequest("renamed", null, null, null, null));
+
+        stats.clear();
+        BookDetailDto dto = bookService.toDetail(patched);
+
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertEquals("renamed", dto.title());
+        assertEquals(dto.authors(), bookService.detail(bookId).authors());
+    }
+
+    @Test
+    void projection_and_loaded_relations_agree() {
+        Long bookId = seedBook(2, 2);
+
+        List<NamedIdDto> viaProjection = bookService.detail(bookId).categories();
+        Book patched = bookService.patchAdmin(bookId, new BookPatchRequest(null, 1200, null, null, null));
+
+        assertEquals(viaProjection, bookService.toDetail(patched).categories());
+    }
+
+    private Long seedBook(int authors, int categories) {
+        Book b = new Book();
+        b.setSellerId(1L);
+        b.setTitle("book-" + UUID.randomUUID());
+        b.setPriceCents(1000);
+        b.setStock(10);
+
+        for (int i = 0; i < authors; i++) {
+            Author a = new Author();
+            a.setName("author-" + UUID.randomUUID());
+            b.getBookAuthors().add(new BookAuthor(b, authorRepository.save(a)));
+        }
+        for (int i = 0; i < categories; i++) {
+            Category c = new Category();
+            c.setName("category-" + UUID.randomUUID());
+            b.getBookCategories().add(new BookCategory(b, categoryRepository.save(c)));
+        }
+        return bookRepository.save(b).getId();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bookstore.book;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index() {
+        BookSearchIndex idx = new BookSearchIndex(null);
+        idx.upsert(1L, "Harry Potter", Map.of(10L, "J. K. Rowling"));
+        idx.upsert(2L, "해리포터와 마법사의 돌", Map.of(11L, "조앤 롤링"));
+        idx.upsert(3L, "Clean Code", Map.of(12L, "Robert Martin"));
+        idx.upsert(4L, "Refactoring", Map.of(13L, "Martin Fowler"));
+        return idx;
+    }
+
+    @Test
+    void tokenizer_hangulBigrams_andLatinWords() {
+        var terms = BookSearchTokenizer.indexTerms("해리포터 Vol2");
+        assertTrue(terms.contains("해리"));
+        assertTrue(terms.contains("포터"));
+        assertTrue(terms.contains("터"));
+        assertTrue(terms.contains("vol2"));
+    }
+
+    @Test
+    void search_latinPrefix() {
+        assertEquals(List.of(1L), index().search("harr", 10));
+    }
+
+    @Test
+    void search_hangulInfixWithoutSpaces() {
+        assertEquals(List.of(2L), index().search("마법사", 10));
+    }
+
+    @Test
+    void search_allTermsMustMatch() {
+        assertEquals(List.of(3L), index().search("clean martin", 10));
+    }
+
+    @Test
+    void search_titleHitRanksAboveAuthorHit() {
+        BookSearchIndex idx = index();
+        idx.upsert(5L, "Martin Eden", Map.of(14L, "Jack London"));
+        List<Long> ids = idx.search("martin", 10);
+        assertEquals(5L, ids.get(0));
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    void remove_and_renameAuthor_keepIndexInSync() {
+        BookSearchIndex idx = index();
+        idx.remove(1L);
+        assertTrue(idx.search("harry", 10).isEmpty());
+
+        idx.renameAuthor(13L, "Kent Beck");
+        assertEquals(List.of(4L), idx.search("beck", 10));
+        assertFalse(idx.search("fowler", 10).contains(4L));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bookstore.book;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 저널을 여러 경로/인스턴스가 동시에 flush 해도 재고가 한 번만 차감되는지
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HotStockEngineFlushTest {
+
+    @Autowired HotStockEngine engine;
+    @Autowired BookRepository bookRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrent_flushes_apply_each_journal_row_once() throws Exception {
+        // 테스트 프로필은 Flyway 를 끄므로 저널 테이블(V8)을 직접 만든다
+        jdbcTemplate.execute("""
+                create table if not exists stock_reservation_journal (
+                  id bigint primary key auto_increment,
+                  book_id bigint not null,
+                  quantity int not null,
+                  created_at timestamp(6) not null default current_timestamp(6)
+                )
+                """);
+
+        Book b = new Book();
+        b.setSellerId(1L);
+        b.setTitle("hot");
+        b.setPriceCents(1000);
+        b.setStock(1000);
+        Long bookId = bookRepository.save(b).getId();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) rows.add(new Object[]{bookId, 1});
+        jdbcTemplate.batchUpdate("insert into stock_reservation_journal (book_id, quantity) values (?, ?)", rows);
+
+        // 두 번째 인스턴스 흉내: 같은 DB 를 보는 별도 엔진
+        HotStockEngine other = new HotStockEngine(jdbcTemplate, transactionManager, 0, 300);
+        List<HotStockEngine> engines = List.of(engine, other, engine, other);
+
+        ExecutorService pool = Executors.newFixedThreadPool(engines.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (HotStockEngine e : engines) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    e.reconcileOnStartup();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+        engine.reconcileOnStartup(); // 건너뛴(잠긴) 행이 남았다면 마저 반영
+
+        assertEquals(700, jdbcTemplate.queryForObject("select stock from books where id = ?", Integer.class, bookId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from stock_reservation_journal where book_id = ?", Integer.class, bookId));
+    }
+}
@@ -47,4 +47,17 @@ class ApiMetaTest {
         ApiMeta meta = ApiMeta.fromPage(page);
         assertEquals(999, meta.total());
     }
+
+    @Test
+    void fromPage_searchCappedOnlyForCappedPage() {
+        assertNull(ApiMeta.fromPage(new PageImpl<>(List.of(1), PageRequest.of(0, 20), 1)).searchCapped());
+        assertEquals(Boolean.TRUE, ApiMeta.fromPage(new CappedPage<>(List.of(1), PageRequest.of(0, 20), 1000)).searchCapped());
+    }
+
+    @Test
+    void fromCursor_searchCappedFromSlice() {
+        CursorSlice<Integer> slice = CursorSlice.of(List.of(1, 2), 5, String::valueOf, x -> x);
+        assertNull(ApiMeta.fromCursor(slice, 5).searchCapped());
+        assertEquals(Boolean.TRUE, ApiMeta.fromCursor(slice.withCapped(true), 5).searchCapped());
+    }
 }
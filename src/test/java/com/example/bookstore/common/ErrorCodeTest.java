@@ -35,4 +35,9 @@ class ErrorCodeTest {
     void tooManyRequests_is429() {
         assertEquals(429, ErrorCode.TOO_MANY_REQUESTS.status().value());
     }
+
+    @Test
+    void serviceUnavailable_is503() {
+        assertEquals(503, ErrorCode.SERVICE_UNAVAILABLE.status().value());
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.bookstore.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_withinErrorBound() {
+        HyperLogLog hll = new HyperLogLog();
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            hll.add("u:" + i);
+            hll.add("u:" + i); // 중복은 영향 없음
+        }
+        double err = Math.abs(hll.estimate() - n) / (double) n;
+        assertTrue(err < 0.05, "error=" + err);
+    }
+
+    @Test
+    void smallCardinality_isNearlyExact() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 50; i++) hll.add("ip:10.0.0." + i);
+        assertEquals(50, hll.estimate(), 2);
+    }
+
+    @Test
+    void merge_equalsUnion() {
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        for (int i = 0; i < 3000; i++) a.add("u:" + i);
+        for (int i = 2000; i < 5000; i++) b.add("u:" + i);
+
+        a.merge(b);
+        double err = Math.abs(a.estimate() - 5000) / 5000.0;
+        assertTrue(err < 0.05, "error=" + err);
+    }
+
+    @Test
+    void bytes_roundTrip_sparseAndDense() {
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 10; i++) small.add("u:" + i);
+        byte[] sparse = small.toBytes();
+        assertTrue(sparse.length < HyperLogLog.M);
+        assertEquals(small.estimate(), HyperLogLog.fromBytes(sparse).estimate());
+
+        HyperLogLog big = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) big.add("u:" + i);
+        byte[] dense = big.toBytes();
+        assertEquals(HyperLogLog.M + 1, dense.length);
+        assertEquals(big.estimate(), HyperLogLog.fromBytes(dense).estimate());
+    }
+
+    @Test
+    void sparse_matchesDense_acrossThreshold() {
+        // 같은 입력을 dense 로 시작한 sketch 와 비교 (dense 는 직렬화 왕복으로 얻음)
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = HyperLogLog.fromBytes(denseBytes());
+        for (int i = 0; i < 3000; i++) {
+            sparse.add("u:" + i);
+            dense.add("u:" + i);
+            if (i % 250 == 0) {
+                assertEquals(dense.estimate(), sparse.estimate(), "i=" + i);
+                assertArrayEquals(dense.toBytes(), sparse.toBytes(), "i=" + i);
+            }
+        }
+        assertEquals(HyperLogLog.M + 1, sparse.toBytes().length);
+
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 40; i++) small.add("ip:" + i);
+        HyperLogLog merged = HyperLogLog.fromBytes(denseBytes());
+        merged.merge(small);
+        merged.merge(sparse);
+        dense.merge(small);
+        assertEquals(dense.estimate(), merged.estimate());
+    }
+
+    private static byte[] denseBytes() {
+        return new byte[HyperLogLog.M + 1]; // [0] = DENSE, 레지스터 전부 0
+    }
+}
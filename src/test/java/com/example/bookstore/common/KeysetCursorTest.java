@@ -0,0 +1,51 @@
+package com.example.bookstore.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeDecode_roundTrip() {
+        String raw = new KeysetCursor("priceCents,DESC", "12000", 42L).encode();
+        KeysetCursor c = KeysetCursor.decode(raw, "priceCents,DESC");
+        assertEquals("12000", c.value());
+        assertEquals(42L, c.id());
+    }
+
+    @Test
+    void decode_rejectsCursorIssuedForOtherSort() {
+        String raw = new KeysetCursor("id,DESC", "1", 1L).encode();
+        ApiException e = assertThrows(ApiException.class, () -> KeysetCursor.decode(raw, "priceCents,ASC"));
+        assertEquals(ErrorCode.INVALID_QUERY_PARAM, e.code());
+    }
+
+    @Test
+    void decode_rejectsGarbage() {
+        ApiException e = assertThrows(ApiException.class, () -> KeysetCursor.decode("%%%", "id,DESC"));
+        assertEquals(ErrorCode.INVALID_QUERY_PARAM, e.code());
+    }
+
+    @Test
+    void emptyCursorMeansFirstPageInCursorMode() {
+        assertTrue(KeysetCursor.isCursorMode(""));
+        assertTrue(KeysetCursor.isFirstPage(""));
+        assertFalse(KeysetCursor.isCursorMode(null));
+    }
+
+    @Test
+    void cursorSlice_usesExtraRowToDetectNext() {
+        CursorSlice<Integer> slice = CursorSlice.of(List.of(5, 4, 3), 2, String::valueOf, x -> x * 10);
+        assertEquals(List.of(50, 40), slice.items());
+        assertTrue(slice.hasNext());
+        assertEquals("4", slice.nextCursor());
+
+        ApiMeta meta = ApiMeta.fromCursor(slice, 2);
+        assertNull(meta.page());
+        assertNull(meta.total());
+        assertEquals("4", meta.nextCursor());
+    }
+}
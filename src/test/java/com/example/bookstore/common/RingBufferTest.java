@@ -0,0 +1,63 @@
+package com.example.bookstore.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(8, new RingBuffer<Integer>(5).capacity());
+        assertEquals(8, new RingBuffer<Integer>(8).capacity());
+    }
+
+    @Test
+    void offer_returnsFalseWhenFull_andFifoOrder() {
+        RingBuffer<Integer> rb = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) assertTrue(rb.offer(i));
+        assertFalse(rb.offer(99));
+        assertEquals(4, rb.size());
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(3, rb.drainTo(out, 3));
+        assertEquals(List.of(0, 1, 2), out);
+
+        assertTrue(rb.offer(4)); // 슬롯 재사용
+        out.clear();
+        rb.drainTo(out, 10);
+        assertEquals(List.of(3, 4), out);
+        assertNull(rb.poll());
+    }
+
+    @Test
+    void concurrentProducers_noLossNoDuplicate() throws Exception {
+        RingBuffer<Integer> rb = new RingBuffer<>(1 << 16);
+        int producers = 4;
+        int perProducer = 10_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (!rb.offer(base + i)) rejected.incrementAndGet();
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        List<Integer> out = new ArrayList<>();
+        rb.drainTo(out, Integer.MAX_VALUE);
+        assertEquals(0, rejected.get());
+        assertEquals(producers * perProducer, out.size());
+        assertEquals(out.size(), out.stream().distinct().count());
+    }
+}
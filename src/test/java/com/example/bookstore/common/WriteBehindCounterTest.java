@@ -0,0 +1,58 @@
+package com.example.bookstore.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindCounterTest {
+
+    @Test
+    void drain_mergesDeltasPerId_andSkipsZero() {
+        WriteBehindCounter c = new WriteBehindCounter();
+        c.add(1L, 1);
+        c.add(1L, 1);
+        c.add(2L, 1);
+        c.add(2L, -1);
+
+        Map<Long, Long> d = c.drain();
+        assertEquals(Map.of(1L, 2L), d);
+    }
+
+    @Test
+    void pending_includesInflightUntilComplete() {
+        WriteBehindCounter c = new WriteBehindCounter();
+        c.add(7L, 3);
+        assertEquals(3L, c.pending(7L));
+
+        c.drain();
+        assertEquals(3L, c.pending(7L));
+
+        c.complete();
+        assertEquals(0L, c.pending(7L));
+    }
+
+    @Test
+    void restore_putsDeltasBackForNextFlush() {
+        WriteBehindCounter c = new WriteBehindCounter();
+        c.add(5L, -2);
+
+        Map<Long, Long> d = c.drain();
+        c.restore(d);
+
+        assertEquals(-2L, c.pending(5L));
+        assertEquals(Map.of(5L, -2L), c.drain());
+    }
+
+    @Test
+    void isEmpty_afterDrainAndComplete() {
+        WriteBehindCounter c = new WriteBehindCounter();
+        assertTrue(c.isEmpty());
+        c.add(1L, 1);
+        assertFalse(c.isEmpty());
+        c.drain();
+        c.complete();
+        assertTrue(c.isEmpty());
+    }
+}
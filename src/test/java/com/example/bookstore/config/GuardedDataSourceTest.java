@@ -0,0 +1,49 @@
+package com.example.bookstore.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GuardedDataSourceTest {
+
+    @Test
+    void capsConcurrentConnections_andReleasesOnClose() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        GuardedDataSource ds = new GuardedDataSource(target, 1, 0, 50);
+
+        Connection first = ds.getConnection();
+        assertEquals(1, ds.stats().inUse());
+
+        // 대기자 한도 0 → 즉시 거절
+        assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+        assertEquals(1, ds.stats().rejected());
+
+        first.close();
+        first.close(); // 중복 close 는 permit 을 한 번만 반환
+        assertEquals(0, ds.stats().inUse());
+
+        try (Connection second = ds.getConnection()) {
+            assertNotNull(second);
+        }
+        assertEquals(2, ds.stats().acquired());
+    }
+
+    @Test
+    void waiterTimesOut() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        GuardedDataSource ds = new GuardedDataSource(target, 1, 10, 20);
+
+        try (Connection held = ds.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+            assertEquals(1, ds.stats().timedOut());
+            assertEquals(0, ds.stats().waiting());
+        }
+    }
+}
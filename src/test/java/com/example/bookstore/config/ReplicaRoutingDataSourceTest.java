@@ -0,0 +1,113 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.security.UserPrincipal;
+import com.example.bookstore.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * primary / replica 를 각각 H2 메모리 DB 로 두고, 어느 쪽에서 읽었는지 marker 행으로 확인.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(h2("primary"), h2("replica"), 60_000, 1000, 1000, "", null);
+        DataSource ds = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(ds);
+        DataSourceTransactionManager tm = new DataSourceTransactionManager(ds);
+        readWrite = new TransactionTemplate(tm);
+        readOnly = new TransactionTemplate(tm);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_goesToReplica() {
+        assertEquals("replica", source(readOnly));
+        assertEquals("primary", source(readWrite));
+        assertEquals("primary", jdbc.queryForObject("select name from marker", String.class));
+    }
+
+    @Test
+    void userIsStickyToPrimaryAfterWrite() {
+        login(1L);
+        assertEquals("replica", source(readOnly));
+
+        readWrite.executeWithoutResult(s -> jdbc.update("update marker set name = name"));
+        assertEquals("primary", source(readOnly));
+        assertEquals(1, routing.stats().stickyReads());
+
+        login(2L);
+        assertEquals("replica", source(readOnly));
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLags() {
+        routing.updateHealth(5_000L);
+        assertEquals("primary", source(readOnly));
+        assertFalse(routing.stats().replicaHealthy());
+
+        routing.updateHealth(100L);
+        assertEquals("replica", source(readOnly));
+
+        routing.updateHealth(null); // 복제 중단 / 확인 실패
+        assertEquals("primary", source(readOnly));
+    }
+
+    @Test
+    void staleLagReading_isTreatedAsUnhealthy() {
+        routing.updateHealth(100L);
+        long now = System.currentTimeMillis();
+        assertTrue(routing.replicaUsable(now));
+        // 확인 주기(1000ms)의 3배를 넘게 새 확인이 없으면 마지막 값이 정상이어도 primary
+        assertFalse(routing.replicaUsable(now + 3_500));
+    }
+
+    @Test
+    void lagCheck_withoutQuery_onlyPingsReplica() {
+        routing.updateHealth(null);
+        routing.checkLag();
+        assertTrue(routing.stats().replicaHealthy());
+    }
+
+    private String source(TransactionTemplate tx) {
+        return tx.execute(s -> jdbc.queryForObject("select name from marker", String.class));
+    }
+
+    private static void login(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(userId, UserRole.user), null, List.of()));
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource ds = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate t = new JdbcTemplate(ds);
+        t.execute("create table if not exists marker (name varchar(20))");
+        t.update("delete from marker");
+        t.update("insert into marker (name) values (?)", name);
+        return ds;
+    }
+}
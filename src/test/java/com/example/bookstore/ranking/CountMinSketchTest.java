@@ -0,0 +1,73 @@
+package com.example.bookstore.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimate_neverBelowActual_andExactWhenSparse() {
+        CountMinSketch cms = new CountMinSketch(4, 1024);
+        cms.add(1, 10);
+        cms.add(2, 3);
+        cms.add(1, 5);
+
+        assertEquals(15, cms.estimate(1));
+        assertEquals(3, cms.estimate(2));
+        assertEquals(0, cms.estimate(3));
+    }
+
+    @Test
+    void subtract_removesExpiredBucket() {
+        CountMinSketch window = new CountMinSketch(4, 256);
+        CountMinSketch bucket = new CountMinSketch(4, 256);
+        window.add(7, 4);
+        bucket.add(7, 4);
+        window.add(7, 2);
+
+        window.subtract(bucket);
+        assertEquals(2, window.estimate(7));
+    }
+
+    @Test
+    void spaceSaving_keepsHeavyHitter() {
+        SpaceSaving ss = new SpaceSaving(3);
+        for (long k = 100; k < 200; k++) ss.offer(k, 1);
+        for (int i = 0; i < 500; i++) ss.offer(42, 1);
+        for (long k = 200; k < 300; k++) ss.offer(k, 1);
+
+        assertTrue(ss.keys().contains(42L));
+        assertTrue(ss.count(42) >= 500);
+    }
+
+    @Test
+    void spaceSaving_evictsSmallestCounter_andKeepsTotal() {
+        SpaceSaving ss = new SpaceSaving(3);
+        ss.offer(1, 5);
+        ss.offer(2, 1);
+        ss.offer(3, 3);
+        ss.offer(2, 1); // 2 → 2
+        ss.offer(9, 2); // 최소(2) 를 빼앗아 2 + 2
+
+        assertEquals(Set.of(1L, 3L, 9L), ss.keys());
+        assertEquals(4, ss.count(9));
+        assertEquals(0, ss.count(2));
+
+        // 가득 찬 뒤에는 카운터 합 == 제공된 총량
+        Random rnd = new Random(7);
+        long total = 12;
+        for (int i = 0; i < 10_000; i++) {
+            long n = 1 + rnd.nextInt(5);
+            ss.offer(rnd.nextInt(50), n);
+            total += n;
+        }
+        long sum = 0;
+        for (long k : ss.keys()) sum += ss.count(k);
+        assertEquals(total, sum);
+        assertEquals(3, ss.keys().size());
+    }
+}
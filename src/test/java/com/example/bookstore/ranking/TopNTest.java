@@ -0,0 +1,41 @@
+package com.example.bookstore.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopNTest {
+
+    @Test
+    void keepsOnlyTopN_inRankOrder() {
+        TopN top = new TopN(3);
+        top.offer(1, 5);
+        top.offer(2, 50);
+        top.offer(3, 1);
+        top.offer(4, 20);
+        top.offer(5, 30);
+
+        List<Long> ids = top.ranked().stream().map(TopN.Entry::bookId).toList();
+        assertEquals(List.of(2L, 5L, 4L), ids);
+    }
+
+    @Test
+    void ties_preferLowerBookId() {
+        TopN top = new TopN(2);
+        top.offer(9, 10);
+        top.offer(3, 10);
+        top.offer(5, 10);
+
+        List<Long> ids = top.ranked().stream().map(TopN.Entry::bookId).toList();
+        assertEquals(List.of(3L, 5L), ids);
+    }
+
+    @Test
+    void fewerThanN_returnsAll() {
+        TopN top = new TopN(10);
+        top.offer(1, 1);
+        assertEquals(1, top.ranked().size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bookstore.review;
+
+import com.example.bookstore.comment.Comment;
+import com.example.bookstore.comment.CommentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * write-behind 로 반영된 like_count 를 이후의 엔티티 저장(수정)이 덮어쓰지 않는지
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LikeCountWriteBehindTest {
+
+    @Autowired LikeCountWriteBehind likeCounts;
+    @Autowired ReviewRepository reviewRepository;
+    @Autowired CommentRepository commentRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void review_patch_after_flush_keeps_like_count() {
+        Review r = new Review();
+        r.setBookId(1L);
+        r.setRating(5);
+        r.setBody("before");
+        Long id = reviewRepository.save(r).getId();
+
+        likeCounts.addReviewAfterCommit(id, 3);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            Review loaded = reviewRepository.findById(id).orElseThrow(); // like_count=0 인 상태로 로딩
+            likeCounts.flush();                                          // 그 사이 write-behind 반영
+            loaded.setBody("after");
+            reviewRepository.saveAndFlush(loaded);
+        });
+
+        assertEquals(3, jdbcTemplate.queryForObject("select like_count from reviews where id = ?", Integer.class, id));
+        assertEquals("after", reviewRepository.findById(id).orElseThrow().getBody());
+    }
+
+    @Test
+    void comment_patch_after_flush_keeps_like_count() {
+        Comment c = new Comment();
+        c.setReviewId(1L);
+        c.setBody("before");
+        Long id = commentRepository.save(c).getId();
+
+        likeCounts.addCommentAfterCommit(id, 2);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            Comment loaded = commentRepository.findById(id).orElseThrow();
+            likeCounts.flush();
+            loaded.setBody("after");
+            commentRepository.saveAndFlush(loaded);
+        });
+
+        assertEquals(2, jdbcTemplate.queryForObject("select like_count from comments where id = ?", Integer.class, id));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.bookstore.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRateLimitStoreTest {
+
+    @Test
+    void countsSyncedAndPendingUsage() {
+        JdbcRateLimitStore.Counter c = new JdbcRateLimitStore.Counter(5, 60_000, 0);
+        c.globalUsed = 3; // 다른 인스턴스 포함 동기화된 사용량
+
+        assertTrue(JdbcRateLimitStore.tryAcquire(c, 1_000, 1).allowed());
+        RateLimitStore.Decision d = JdbcRateLimitStore.tryAcquire(c, 1_000, 1);
+        assertTrue(d.allowed());
+        assertEquals(0, d.remaining());
+        assertFalse(JdbcRateLimitStore.tryAcquire(c, 1_000, 1).allowed());
+        assertEquals(2, c.pending.get());
+    }
+
+    @Test
+    void previousWindowDecaysAcrossCurrentWindow() {
+        JdbcRateLimitStore.Counter c = new JdbcRateLimitStore.Counter(10, 60_000, 0);
+        c.globalUsed = 10;
+
+        // 다음 윈도우 시작 직후: 직전 사용량이 거의 그대로 남아 거절
+        assertFalse(JdbcRateLimitStore.tryAcquire(c, 60_000, 1).allowed());
+        assertEquals(60_000, c.windowStart);
+        assertEquals(10, c.globalPrev);
+
+        // 윈도우 절반 경과: 직전 사용량의 절반(5)만 반영
+        RateLimitStore.Decision d = JdbcRateLimitStore.tryAcquire(c, 90_000, 1);
+        assertTrue(d.allowed());
+        assertEquals(4, d.remaining());
+    }
+
+    @Test
+    void unsyncedUsageIsCarriedWithItsWindowOnRoll() {
+        JdbcRateLimitStore.Counter c = new JdbcRateLimitStore.Counter(100, 60_000, 0);
+        for (int i = 0; i < 3; i++) assertTrue(JdbcRateLimitStore.tryAcquire(c, 1_000, 1).allowed());
+
+        // 동기화 전에 다음 윈도우로: 미반영 3 은 이전 windowStart(0) 로 남아 다음 동기화에 보내진다
+        assertTrue(JdbcRateLimitStore.tryAcquire(c, 61_000, 1).allowed());
+        assertEquals(0, c.carryStart);
+        assertEquals(3, c.carryUsed);
+        assertEquals(3, c.globalPrev);
+        assertEquals(1, c.pending.get());
+
+        // 한 윈도우 더 지나면 더 최근 윈도우의 미반영분으로 교체
+        JdbcRateLimitStore.roll(c, 120_000);
+        assertEquals(60_000, c.carryStart);
+        assertEquals(1, c.carryUsed);
+    }
+
+    @Test
+    void windowStartIsEpochAligned() {
+        assertEquals(120_000, JdbcRateLimitStore.windowStartOf(150_000, 60_000));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.common.ApiException;
+import com.example.bookstore.common.ErrorCode;
+import com.example.bookstore.user.UserRole;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtProviderTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private static JwtProvider provider(Integer cacheSize) {
+        return new JwtProvider(new JwtProperties("bookstore", SECRET, 15, "pepper", 14, cacheSize));
+    }
+
+    @Test
+    void validToken_parsedAndServedFromCache() {
+        JwtProvider jwt = provider(100);
+        String token = jwt.createAccessToken(7L, UserRole.user);
+
+        UserPrincipal first = jwt.validateAndParseAccessToken(token);
+        UserPrincipal second = jwt.validateAndParseAccessToken(token);
+
+        assertEquals(new UserPrincipal(7L, UserRole.user), first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void sellerIdClaim_roundTrips() {
+        JwtProvider jwt = provider(100);
+        String token = jwt.createAccessToken(5L, UserRole.seller, 42L);
+
+        assertEquals(new UserPrincipal(5L, UserRole.seller, 42L), jwt.validateAndParseAccessToken(token));
+    }
+
+    @Test
+    void tamperedToken_rejected_evenWithCache() {
+        JwtProvider jwt = provider(100);
+        String token = jwt.createAccessToken(7L, UserRole.user);
+        jwt.validateAndParseAccessToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        ApiException e = assertThrows(ApiException.class, () -> jwt.validateAndParseAccessToken(tampered));
+        assertEquals(ErrorCode.TOKEN_INVALID, e.code());
+    }
+
+    @Test
+    void cacheDisabled_stillValidates() {
+        JwtProvider jwt = provider(0);
+        String token = jwt.createAccessToken(3L, UserRole.admin);
+        assertEquals(UserRole.admin, jwt.validateAndParseAccessToken(token).role());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bookstore.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) hasher.shutdown();
+    }
+
+    @Test
+    void encodeAndMatch_onHasherThreads() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4, 5000);
+
+        String hash = hasher.encode("pw1234");
+
+        assertTrue(hasher.matches("pw1234", hash));
+        assertFalse(hasher.matches("other", hash));
+        assertEquals(3, hasher.stats().completed());
+    }
+
+    @Test
+    void upgrade_onlyWhenCostChanged() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("pw1234");
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 5, 1, 4, 5000);
+
+        String upgraded = hasher.upgrade("pw1234", oldHash);
+
+        assertNotNull(upgraded);
+        assertTrue(upgraded.startsWith("$2a$05$"));
+        assertTrue(hasher.matches("pw1234", upgraded));
+        assertNull(hasher.upgrade("pw1234", upgraded));
+        assertEquals(1, hasher.stats().rehashed());
+    }
+
+    @Test
+    void upgrade_alsoWhenCostLowered() {
+        String oldHash = new BCryptPasswordEncoder(6).encode("pw1234");
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4, 5000);
+
+        String rehashed = hasher.upgrade("pw1234", oldHash);
+
+        assertNotNull(rehashed);
+        assertTrue(rehashed.startsWith("$2a$04$"));
+        assertNull(hasher.upgrade("pw1234", rehashed));
+    }
+
+    @Test
+    void costOf_parsesBcryptPrefix() {
+        assertEquals(10, PasswordHasher.costOf("$2a$10$abcdefghijklmnopqrstuv"));
+        assertEquals(-1, PasswordHasher.costOf("plain"));
+        assertEquals(-1, PasswordHasher.costOf(null));
+    }
+}
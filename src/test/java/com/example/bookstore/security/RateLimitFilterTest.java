@@ -8,6 +8,8 @@ import org.springframework.mock.web.MockHttpServletResponse;
 
 import jakarta.servlet.FilterChain;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RateLimitFilterTest {
@@ -89,4 +91,43 @@ class RateLimitFilterTest {
         filter.doFilter(req2, res2, chain);
         assertEquals(429, res2.getStatus());
     }
+
+    @Test
+    void nonBearerAuthorizationHeader_isStillLimited() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), 1, 60_000);
+        FilterChain chain = (r, s) -> {};
+
+        for (int expected : new int[]{200, 429}) {
+            MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/books");
+            req.addHeader("Authorization", "x");
+            MockHttpServletResponse res = new MockHttpServletResponse();
+            filter.doFilter(req, res, chain);
+            assertEquals(expected, res.getStatus());
+        }
+    }
+
+    @Test
+    void routeGroup_hasOwnStricterBucket() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(),
+                List.of(new RateLimitFilter.RouteLimit("auth", null, "/api/auth/**", 1, 60_000)),
+                new RateLimitFilter.RouteLimit("default", null, "/**", 5, 60_000),
+                new InMemoryRateLimitStore(100));
+        FilterChain chain = (r, s) -> {};
+
+        assertEquals(200, call(filter, chain, "/api/auth/login").getStatus());
+        MockHttpServletResponse blocked = call(filter, chain, "/api/auth/login");
+        assertEquals(429, blocked.getStatus());
+        assertNotNull(blocked.getHeader("Retry-After"));
+
+        // 다른 그룹의 버킷은 영향 없음
+        assertEquals(200, call(filter, chain, "/api/books").getStatus());
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, FilterChain chain, String path) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", path);
+        req.setRemoteAddr("5.6.7.8");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, chain);
+        return res;
+    }
 }
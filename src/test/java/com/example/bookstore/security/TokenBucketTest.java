@@ -0,0 +1,45 @@
+package com.example.bookstore.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstUpToCapacity_thenRejects() {
+        TokenBucket b = new TokenBucket(3, 3000);
+
+        assertEquals(2, b.tryAcquire(0, 1).remaining());
+        assertEquals(1, b.tryAcquire(0, 1).remaining());
+        assertEquals(0, b.tryAcquire(0, 1).remaining());
+
+        RateLimitStore.Decision d = b.tryAcquire(0, 1);
+        assertFalse(d.allowed());
+        assertEquals(1000, d.retryAfterMs());
+    }
+
+    @Test
+    void refillsGradually_noDoubleBurstAtWindowEdge() {
+        TokenBucket b = new TokenBucket(2, 2000);
+        assertTrue(b.tryAcquire(0, 1).allowed());
+        assertTrue(b.tryAcquire(0, 1).allowed());
+
+        // 1초 뒤 토큰 1개만 회복 (고정 윈도우처럼 한 번에 2개가 생기지 않음)
+        assertTrue(b.tryAcquire(SECOND, 1).allowed());
+        assertFalse(b.tryAcquire(SECOND, 1).allowed());
+    }
+
+    @Test
+    void idleBucketIsFull() {
+        TokenBucket b = new TokenBucket(2, 2000);
+        assertTrue(b.tryAcquire(0, 2).allowed());
+        assertFalse(b.tryAcquire(0, 1).allowed());
+
+        RateLimitStore.Decision d = b.tryAcquire(100 * SECOND, 1);
+        assertTrue(d.allowed());
+        assertEquals(1, d.remaining());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.user.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRateLimitFilterTest {
+
+    private final FilterChain chain = (r, s) -> {};
+
+    private final UserRateLimitFilter filter = new UserRateLimitFilter(new ObjectMapper(),
+            Map.of(UserRole.user, 3, UserRole.admin, 20),
+            60_000,
+            List.of(new UserRateLimitFilter.EndpointCost(null, "/api/admin/stats/**", 10)),
+            new InMemoryRateLimitStore(100));
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void limitsPerUser_withHeaders() throws Exception {
+        login(1L, UserRole.user);
+
+        MockHttpServletResponse first = call("/api/books");
+        assertEquals(200, first.getStatus());
+        assertEquals("3", first.getHeader("X-RateLimit-Limit"));
+        assertEquals("2", first.getHeader("X-RateLimit-Remaining"));
+
+        call("/api/books");
+        call("/api/books");
+        MockHttpServletResponse blocked = call("/api/books");
+        assertEquals(429, blocked.getStatus());
+        assertNotNull(blocked.getHeader("Retry-After"));
+
+        // 다른 사용자는 별도 버킷
+        login(2L, UserRole.user);
+        assertEquals(200, call("/api/books").getStatus());
+    }
+
+    @Test
+    void expensiveEndpoint_consumesItsCost() throws Exception {
+        login(9L, UserRole.admin);
+
+        assertEquals(200, call("/api/admin/stats/daily-sales").getStatus());
+        assertEquals(200, call("/api/admin/stats/daily-sales").getStatus());
+        assertEquals(429, call("/api/admin/stats/daily-sales").getStatus());
+    }
+
+    @Test
+    void anonymousRequest_passesThrough() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, call("/api/books").getStatus());
+        }
+    }
+
+    private static void login(Long userId, UserRole role) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(userId, role), null, List.of()));
+    }
+
+    private MockHttpServletResponse call(String path) throws Exception {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), res, chain);
+        return res;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.bookstore.settlement;
+
+import com.example.bookstore.common.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * 스트리밍 정산 엔진: 청크 경계, 여러 판매자, 실패 시 정리, 끊긴 실행 뒤 재생성.
+ * 테스트마다 다른 기간을 써서 공유 H2 데이터가 섞이지 않게 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SettlementEngineTest {
+
+    @Autowired SettlementEngine engine;
+    @Autowired SettlementService settlementService;
+    @Autowired SettlementRepository settlementRepository;
+    @Autowired SettlementItemRepository settlementItemRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void chunk_boundaries_keep_every_item_and_totals() {
+        LocalDate day = LocalDate.of(2001, 1, 15);
+        long seller = seller(1000); // 10%
+        int rows = 2 * SettlementEngine.CHUNK + 1;
+        seedItems(seller, day, rows, 101);
+
+        List<Long> ids = engine.run(day, day);
+
+        assertEquals(1, ids.size());
+        Map<String, Object> s = settlement(ids.get(0));
+        assertEquals("pending", s.get("status"));
+        assertEquals(rows * 101, ((Number) s.get("total_gross_cents")).intValue());
+        assertEquals(rows * 101 / 10, ((Number) s.get("total_commission_cents")).intValue());
+        assertEquals(rows, itemCount(ids.get(0)));
+    }
+
+    @Test
+    void multiple_sellers_get_one_settlement_each() {
+        LocalDate day = LocalDate.of(2002, 1, 15);
+        long a = seller(500);
+        long b = seller(0);
+        seedItems(a, day, 3, 1000);
+        seedItems(b, day, SettlementEngine.CHUNK, 10);
+
+        List<Long> ids = engine.run(day, day);
+
+        assertEquals(2, ids.size());
+        Map<String, Object> first = settlement(ids.get(0));
+        Map<String, Object> second = settlement(ids.get(1));
+        assertEquals(a, ((Number) first.get("seller_id")).longValue());
+        assertEquals(150, ((Number) first.get("total_commission_cents")).intValue());
+        assertEquals(b, ((Number) second.get("seller_id")).longValue());
+        assertEquals(SettlementEngine.CHUNK * 10, ((Number) second.get("total_net_cents")).intValue());
+        assertEquals(SettlementEngine.CHUNK, itemCount(ids.get(1)));
+    }
+
+    @Test
+    void failure_mid_run_discards_created_settlements() {
+        LocalDate day = LocalDate.of(2003, 1, 15);
+        long a = seller(100);
+        long b = seller(100);
+        seedItems(a, day, 5, 100);
+        seedItems(b, day, SettlementEngine.CHUNK + 5, 100);
+
+        // 첫 판매자의 finish + 두 번째 판매자의 첫 청크까지는 성공, 그 다음 batch 에서 실패
+        AtomicInteger calls = new AtomicInteger();
+        SettlementItemRepository failing = mock(SettlementItemRepository.class);
+        doAnswer(inv -> {
+            if (calls.incrementAndGet() > 2) throw new IllegalStateException("boom");
+            settlementItemRepository.batchInsert(inv.getArgument(0));
+            return null;
+        }).when(failing).batchInsert(anyList());
+        SettlementEngine flaky = new SettlementEngine(jdbcTemplate, settlementRepository, failing, transactionManager);
+
+        assertThrows(IllegalStateException.class, () -> flaky.run(day, day));
+
+        assertEquals(0, periodCount(day));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from settlement_items where seller_id in (?, ?)", Integer.class, a, b));
+    }
+
+    @Test
+    void create_discards_leftover_drafts_and_reuses_finalized_sellers() {
+        LocalDate day = LocalDate.of(2004, 1, 15);
+        long a = seller(0);
+        long b = seller(0);
+        seedItems(a, day, 2, 100);
+        seedItems(b, day, 2, 100);
+
+        // 끊긴 이전 실행: a 는 확정(pending), b 는 draft 로 남음
+        Long finalized = engine.runForSeller(a, 0, day, day).settlementId();
+        jdbcTemplate.update("""
+                insert into settlements (seller_id, period_start, period_end, status,
+                                         total_gross_cents, total_commission_cents, total_net_cents)
+                values (?, ?, ?, 'draft', 0, 0, 0)
+                """, b, Date.valueOf(day), Date.valueOf(day));
+
+        var res = settlementService.create(day, day);
+
+        assertEquals(1, res.created());
+        assertEquals(b, ((Number) settlement(res.settlement_ids().get(0)).get("seller_id")).longValue());
+        assertEquals(2, periodCount(day));
+        assertEquals("pending", settlement(finalized).get("status"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from settlements where period_start = ? and status = 'draft'", Integer.class, Date.valueOf(day)));
+
+        assertThrows(ApiException.class, () -> settlementService.create(day, day));
+    }
+
+    // ---------------------------
+    // seed helpers
+    // ---------------------------
+    private long seller(int bps) {
+        KeyHolder kh = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into sellers (name, commission_bps, status) values (?, ?, 'active')",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, "seller-" + System.nanoTime());
+            ps.setInt(2, bps);
+            return ps;
+        }, kh);
+        return kh.getKey().longValue();
+    }
+
+    private void seedItems(long sellerId, LocalDate day, int rows, int grossEach) {
+        KeyHolder kh = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into orders (user_id, status, total_amount_cents, created_at) values (1, 'paid', ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setInt(1, rows * grossEach);
+            ps.setTimestamp(2, Timestamp.valueOf(day.atTime(12, 0)));
+            return ps;
+        }, kh);
+        long orderId = kh.getKey().longValue();
+
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) args.add(new Object[]{orderId, sellerId, grossEach, grossEach});
+        jdbcTemplate.batchUpdate("""
+                insert into order_items (order_id, book_id, seller_id, quantity, unit_price_cents, subtotal_cents)
+                values (?, 1, ?, 1, ?, ?)
+                """, args);
+    }
+
+    private Map<String, Object> settlement(long id) {
+        return jdbcTemplate.queryForMap("select * from settlements where id = ?", id);
+    }
+
+    private int itemCount(long settlementId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from settlement_items where settlement_id = ?", Integer.class, settlementId);
+    }
+
+    private int periodCount(LocalDate day) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from settlements where period_start = ? and period_end = ?",
+                Integer.class, Date.valueOf(day), Date.valueOf(day));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.bookstore.stats;
+
+import com.example.bookstore.order.OrderStatus;
+import com.example.bookstore.stats.dto.StatsDtos.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 일별 롤업 마감(closeDay) / 마감된 날짜의 상태 변경 delta / 롤업 + live 구간 합산 통계
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesRollupStatsTest {
+
+    private static final LocalDate D1 = LocalDate.of(2010, 3, 1);
+    private static final LocalDate D2 = LocalDate.of(2010, 3, 2);
+
+    @Autowired SalesRollupService rollupService;
+    @Autowired StatsService statsService;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private long seller;
+    private long book1;
+    private long book2;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트 프로필은 Flyway 를 끄므로 롤업 테이블(V10)을 직접 만든다
+        jdbcTemplate.execute("create table if not exists sales_daily (d date primary key, gross_cents bigint not null default 0, order_count int not null default 0)");
+        jdbcTemplate.execute("create table if not exists sales_daily_book (d date not null, book_id bigint not null, gross_cents bigint not null default 0, quantity bigint not null default 0, order_count int not null default 0, primary key (d, book_id))");
+        jdbcTemplate.execute("create table if not exists sales_daily_seller (d date not null, seller_id bigint not null, gross_cents bigint not null default 0, quantity bigint not null default 0, order_count int not null default 0, primary key (d, seller_id))");
+        jdbcTemplate.execute("create table if not exists sales_rollup_state (id tinyint primary key, closed_through date null)");
+        for (String t : List.of("sales_daily", "sales_daily_book", "sales_daily_seller", "sales_rollup_state")) {
+            jdbcTemplate.update("delete from " + t);
+        }
+        jdbcTemplate.update("insert into sales_rollup_state (id, closed_through) values (1, ?)", Date.valueOf(D1.minusDays(1)));
+        jdbcTemplate.update("delete from order_items where order_id in (select id from orders where created_at >= ? and created_at < ?)",
+                Timestamp.valueOf(D1.atStartOfDay()), Timestamp.valueOf(D2.plusDays(1).atStartOfDay()));
+        jdbcTemplate.update("delete from orders where created_at >= ? and created_at < ?",
+                Timestamp.valueOf(D1.atStartOfDay()), Timestamp.valueOf(D2.plusDays(1).atStartOfDay()));
+
+        seller = insert("insert into sellers (name, commission_bps, status) values ('rollup-seller', 0, 'active')");
+        book1 = insert("insert into books (seller_id, title, price_cents, stock, ratings_count, ratings_sum) values (" + seller + ", 'b1', 100, 10, 0, 0)");
+        book2 = insert("insert into books (seller_id, title, price_cents, stock, ratings_count, ratings_sum) values (" + seller + ", 'b2', 500, 10, 0, 0)");
+    }
+
+    @Test
+    void top_and_daily_merge_rollup_and_live_ranges() {
+        order(D1, OrderStatus.paid, book1, 2, 200);
+        long mixed = order(D2, OrderStatus.paid, book2, 1, 500);
+        item(mixed, book1, 1, 100);
+
+        rollupService.closeDay(D1); // D1 은 롤업, D2 는 live
+        assertEquals(D1, rollupService.closedThrough());
+
+        List<TopBookDto> books = statsService.topBooks(D1, D2, 10).items();
+        assertEquals(2, books.size());
+        assertEquals(new TopBookDto(book2, "b2", 1, 500), books.get(0));
+        assertEquals(new TopBookDto(book1, "b1", 3, 300), books.get(1)); // 롤업 200 + live 100
+
+        assertEquals(List.of(new TopBookDto(book2, "b2", 1, 500)), statsService.topBooks(D1, D2, 1).items());
+        assertEquals(List.of(new TopSellerDto(seller, "rollup-seller", 800)), statsService.topSellers(D1, D2, 10).items());
+
+        List<DailySalesDto> daily = statsService.dailySales(D1, D2).items();
+        assertEquals(List.of(new DailySalesDto(D1, 200, 1), new DailySalesDto(D2, 600, 1)), daily);
+    }
+
+    @Test
+    void status_change_on_closed_day_applies_deltas() {
+        order(D1, OrderStatus.paid, book1, 2, 200);
+        long late = order(D1, OrderStatus.pending, book2, 1, 300);
+        rollupService.closeDay(D1);
+        assertEquals(200L, dailyGross());
+
+        // 마감 이후 결제 → +delta
+        jdbcTemplate.update("update orders set status = 'paid' where id = ?", late);
+        rollupService.onStatusChange(late, OrderStatus.pending, OrderStatus.paid);
+        assertEquals(500L, dailyGross());
+        assertEquals(2, jdbcTemplate.queryForObject("select order_count from sales_daily where d = ?", Integer.class, Date.valueOf(D1)));
+        assertEquals(300L, jdbcTemplate.queryForObject(
+                "select gross_cents from sales_daily_book where d = ? and book_id = ?", Long.class, Date.valueOf(D1), book2));
+
+        // 집계 대상끼리의 변경은 무시, 취소는 -delta
+        rollupService.onStatusChange(late, OrderStatus.paid, OrderStatus.shipped);
+        assertEquals(500L, dailyGross());
+        rollupService.onStatusChange(late, OrderStatus.shipped, OrderStatus.cancelled);
+        assertEquals(200L, dailyGross());
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "select gross_cents from sales_daily_book where d = ? and book_id = ?", Long.class, Date.valueOf(D1), book2));
+
+        // closeDay 를 다시 돌려도 같은 결과 (재집계)
+        jdbcTemplate.update("update orders set status = 'cancelled' where id = ?", late);
+        rollupService.closeDay(D1);
+        assertEquals(200L, dailyGross());
+    }
+
+    // ---------------------------
+    // seed helpers
+    // ---------------------------
+    private long dailyGross() {
+        return jdbcTemplate.queryForObject("select gross_cents from sales_daily where d = ?", Long.class, Date.valueOf(D1));
+    }
+
+    private long order(LocalDate day, OrderStatus status, long bookId, int qty, int gross) {
+        KeyHolder kh = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into orders (user_id, status, total_amount_cents, created_at) values (1, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, status.name());
+            ps.setInt(2, gross);
+            ps.setTimestamp(3, Timestamp.valueOf(day.atTime(10, 0)));
+            return ps;
+        }, kh);
+        long orderId = kh.getKey().longValue();
+        item(orderId, bookId, qty, gross);
+        return orderId;
+    }
+
+    private void item(long orderId, long bookId, int qty, int gross) {
+        jdbcTemplate.update("""
+                insert into order_items (order_id, book_id, seller_id, quantity, unit_price_cents, subtotal_cents)
+                values (?, ?, ?, ?, ?, ?)
+                """, orderId, bookId, seller, qty, gross / qty, gross);
+        jdbcTemplate.update("update orders set total_amount_cents = (select sum(subtotal_cents) from order_items where order_id = ?) where id = ?",
+                orderId, orderId);
+    }
+
+    private long insert(String sql) {
+        KeyHolder kh = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), kh);
+        return kh.getKey().longValue();
+    }
+}